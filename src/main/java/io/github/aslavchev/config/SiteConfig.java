@@ -0,0 +1,41 @@
+package io.github.aslavchev.config;
+
+import java.net.URI;
+
+/**
+ * SiteConfig - Single source of truth for the site under test
+ * <p>
+ * -Dbase.url=... (default: https://automationexercise.com)
+ * Read on every call (not cached in a constant) so the local stand-in server
+ * can publish its address at suite start, before any test runs.
+ */
+public final class SiteConfig {
+
+    public static final String DEFAULT_BASE_URL = "https://automationexercise.com";
+
+    private SiteConfig() {
+    }
+
+    /**
+     * Base URL of the site, without trailing slash
+     */
+    public static String baseUrl() {
+        String url = System.getProperty("base.url", DEFAULT_BASE_URL).trim();
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * Base URL of the REST API (baseUrl + "/api")
+     */
+    public static String apiBaseUrl() {
+        return baseUrl() + "/api";
+    }
+
+    /**
+     * Whether tests run against a server on this machine (no ads, no consent popup)
+     */
+    public static boolean isLocal() {
+        String host = URI.create(baseUrl()).getHost();
+        return "localhost".equals(host) || "127.0.0.1".equals(host);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.aslavchev.driver;
+
+import io.github.aslavchev.metrics.CommandMetrics;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * CommandTimingListener - Times every WebDriver call and attributes it to the page-object method
+ * <p>
+ * Attached in DriverFactory via EventFiringDecorator (disable with -Ddriver.instrument=false).
+ * Covers calls on WebDriver, WebElement, Navigation, Options, etc.
+ * <p>
+ * Attribution: the outermost frame in io.github.aslavchev.ui.pages, i.e. the page method
+ * the test called (CartPage.getCartLines), not the BasePage helper it delegates to.
+ * Calls made directly from a test or from framework code are attributed to "test"/"framework".
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private static final String PAGES_PACKAGE = "io.github.aslavchev.ui.pages.";
+    private static final String TESTS_PACKAGE = "io.github.aslavchev.ui.";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    // Stack, not a single value: a listener callback itself may trigger nested calls
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    private void record(Method method) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        CommandMetrics.record(command, caller(), elapsed);
+    }
+
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> {
+            String pageMethod = null;
+            String fallback = "framework";
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.startsWith(PAGES_PACKAGE)) {
+                    // Keep overwriting - the last page frame seen is the outermost one.
+                    // Lambdas (e.g. inside wait.until) are skipped in favour of their enclosing method.
+                    if (!frame.getMethodName().startsWith("lambda$")) {
+                        pageMethod = simpleName(className) + "." + frame.getMethodName();
+                    }
+                } else if (isTestClass(className)) {
+                    fallback = "test";
+                    break; // Reached the test method - nothing above it is a page object
+                }
+            }
+            return pageMethod != null ? pageMethod : fallback;
+        });
+    }
+
+    private static boolean isTestClass(String className) {
+        // UI test classes live directly in io.github.aslavchev.ui (not in sub-packages)
+        return className.startsWith(TESTS_PACKAGE) && className.indexOf('.', TESTS_PACKAGE.length()) < 0;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
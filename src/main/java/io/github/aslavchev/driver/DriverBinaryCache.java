@@ -0,0 +1,143 @@
+package io.github.aslavchev.driver;
+
+import io.github.aslavchev.metrics.RunMetrics;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DriverBinaryCache - Resolves the local browser driver binary once per JVM and browser
+ * <p>
+ * Why: WebDriverManager.setup() re-resolves versions and touches its cache on every
+ * call, and it used to run in every BaseTest.setUp(). Resolution now happens once,
+ * and the resolved path is persisted so the next JVM (or an offline machine with a
+ * warm cache) can start without going through WebDriverManager at all.
+ * <p>
+ * Cache file: -Ddriver.cache.file (default: ~/.cache/ecommerce-automation/driver-binaries.properties)
+ * Setup time is recorded in RunMetrics as "driver.binary.resolve".
+ */
+public final class DriverBinaryCache {
+
+    private static final Path CACHE_FILE = Path.of(System.getProperty("driver.cache.file",
+            Path.of(System.getProperty("user.home"), ".cache", "ecommerce-automation",
+                    "driver-binaries.properties").toString()));
+
+    // Cached when WebDriverManager finds no binary: Selenium Manager resolves it at session start.
+    // ConcurrentHashMap cannot hold null, and a null result would otherwise be resolved again per session
+    private static final String SELENIUM_MANAGER = "";
+
+    private static final Map<String, String> resolved = new ConcurrentHashMap<>();
+    private static final Set<String> loadedFromFile = ConcurrentHashMap.newKeySet();
+
+    private DriverBinaryCache() {
+    }
+
+    /**
+     * Ensure the driver binary for this browser is resolved and registered with Selenium.
+     * Only the first call per browser does any work, whatever its outcome.
+     *
+     * @param browser "chrome" or "firefox"
+     * @return Absolute path of the driver binary, or null if Selenium Manager is left to find it
+     */
+    public static String ensureResolved(String browser) {
+        String path = resolved.computeIfAbsent(browser, name -> {
+            String found = resolve(name);
+            return found == null ? SELENIUM_MANAGER : found;
+        });
+        return SELENIUM_MANAGER.equals(path) ? null : path;
+    }
+
+    /**
+     * Forget the resolved path (memory and file) and resolve again through WebDriverManager.
+     * Used when a cached binary no longer matches the installed browser.
+     *
+     * @param browser "chrome" or "firefox"
+     * @return Freshly resolved driver path
+     */
+    public static synchronized String refresh(String browser) {
+        resolved.remove(browser);
+        loadedFromFile.remove(browser);
+        Properties cache = load();
+        cache.remove(browser);
+        store(cache);
+        return ensureResolved(browser);
+    }
+
+    /**
+     * Whether the current path for this browser was taken from the persisted cache file
+     */
+    static boolean isFromCacheFile(String browser) {
+        return loadedFromFile.contains(browser);
+    }
+
+    private static String resolve(String browser) {
+        long start = System.currentTimeMillis();
+        try {
+            Properties cache = load();
+            String cachedPath = cache.getProperty(browser);
+            if (cachedPath != null && Files.isExecutable(Path.of(cachedPath))) {
+                System.setProperty(systemProperty(browser), cachedPath);
+                loadedFromFile.add(browser);
+                RunMetrics.increment("driver.binary.cacheHit");
+                return cachedPath;
+            }
+
+            WebDriverManager manager = manager(browser);
+            manager.setup();
+            String path = manager.getDownloadedDriverPath();
+            RunMetrics.increment("driver.binary.resolved");
+
+            if (path != null) {
+                cache.setProperty(browser, path);
+                store(cache);
+            }
+            return path;
+        } finally {
+            RunMetrics.recordTime("driver.binary.resolve", System.currentTimeMillis() - start);
+        }
+    }
+
+    private static WebDriverManager manager(String browser) {
+        return "firefox".equals(browser)
+                ? WebDriverManager.firefoxdriver()
+                : WebDriverManager.chromedriver();
+    }
+
+    private static String systemProperty(String browser) {
+        return "firefox".equals(browser) ? "webdriver.gecko.driver" : "webdriver.chrome.driver";
+    }
+
+    private static Properties load() {
+        Properties cache = new Properties();
+        if (Files.exists(CACHE_FILE)) {
+            try (InputStream in = Files.newInputStream(CACHE_FILE)) {
+                cache.load(in);
+            } catch (IOException e) {
+                System.err.println("⚠️  Ignoring unreadable driver cache " + CACHE_FILE + ": " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    private static synchronized void store(Properties cache) {
+        try {
+            if (CACHE_FILE.getParent() != null) {
+                Files.createDirectories(CACHE_FILE.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(CACHE_FILE)) {
+                cache.store(out, "Resolved browser driver binaries (safe to delete)");
+            }
+        } catch (IOException e) {
+            // Cache is an optimisation only - never fail a run because of it
+            System.err.println("⚠️  Could not write driver cache " + CACHE_FILE + ": " + e.getMessage());
+        }
+    }
+}
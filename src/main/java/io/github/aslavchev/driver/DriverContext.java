@@ -0,0 +1,57 @@
+package io.github.aslavchev.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * DriverContext - Thread-confined holder for the current test's WebDriver
+ * <p>
+ * Why: with parallel execution several tests share one test class instance,
+ * so an instance field would be overwritten by whichever thread ran setUp last.
+ * Each thread owns exactly one driver between BaseTest.setUp() and tearDown().
+ */
+public final class DriverContext {
+
+    private static final ThreadLocal<WebDriver> currentDriver = new ThreadLocal<>();
+
+    private DriverContext() {
+    }
+
+    /**
+     * Bind a driver to the current thread
+     *
+     * @param driver WebDriver owned by the test running on this thread
+     */
+    public static void setDriver(WebDriver driver) {
+        currentDriver.set(driver);
+    }
+
+    /**
+     * Get the driver bound to the current thread
+     *
+     * @return WebDriver for the running test
+     * @throws IllegalStateException if no driver is bound (called outside a UI test)
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = currentDriver.get();
+        if (driver == null) {
+            throw new IllegalStateException(
+                    "No WebDriver bound to thread " + Thread.currentThread().getName()
+                            + " - page objects must be created inside a test extending BaseTest");
+        }
+        return driver;
+    }
+
+    /**
+     * Whether the current thread has a driver bound
+     */
+    public static boolean hasDriver() {
+        return currentDriver.get() != null;
+    }
+
+    /**
+     * Unbind the driver from the current thread (prevents leaks on pooled TestNG threads)
+     */
+    public static void clear() {
+        currentDriver.remove();
+    }
+}
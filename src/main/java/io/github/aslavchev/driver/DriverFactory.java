@@ -0,0 +1,195 @@
+package io.github.aslavchev.driver;
+
+import io.github.aslavchev.config.SiteConfig;
+import io.github.aslavchev.metrics.RunMetrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.net.URL;
+import java.time.Duration;
+
+/**
+ * DriverFactory - Builds and warms up WebDriver sessions
+ * <p>
+ * Execution mode and browser are read from system properties:
+ * - -Dexecution=local/grid (default: local)
+ * - -Dbrowser=chrome/firefox (default: chrome)
+ * - -Dgrid.url=... (default: http://localhost:4444)
+ * - -Ddriver.instrument=true/false (default: true) - time every command (CommandTimingListener)
+ *   and sample page load timing (PageLoadListener)
+ * - -Dnetwork.block=true/false (default: true) - block ads/trackers/consent popup (RequestBlocker)
+ * Local driver binaries are resolved once per JVM via DriverBinaryCache.
+ * <p>
+ * A "warm" driver has already loaded the home page and dismissed the consent popup,
+ * so the first navigation of a test is not paying for it.
+ */
+public final class DriverFactory {
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Create a new browser session and dismiss the consent popup
+     *
+     * @return Ready-to-use WebDriver
+     */
+    public static WebDriver createWarmDriver() {
+        long start = System.currentTimeMillis();
+        WebDriver driver = createDriver();
+        handleConsentPopup(driver);
+        RunMetrics.recordTime("driver.boot", System.currentTimeMillis() - start);
+        return driver;
+    }
+
+    /**
+     * Create a new browser session for the configured execution mode and browser
+     *
+     * @return New WebDriver (no page loaded yet)
+     */
+    public static WebDriver createDriver() {
+        String execution = System.getProperty("execution", "local").toLowerCase();
+        String browser = browser();
+
+        WebDriver driver;
+        if ("grid".equals(execution)) {
+            driver = createGridDriver(browser);
+            System.out.println("🌐 Browser: " + browser + " (Grid)");
+        } else {
+            driver = createLocalDriver(browser);
+            System.out.println("🌐 Browser: " + browser + " (Local)");
+        }
+        return instrument(driver);
+    }
+
+    /**
+     * Wrap the driver so every command is timed (-Ddriver.instrument=false to disable)
+     */
+    private static WebDriver instrument(WebDriver driver) {
+        if (!Boolean.parseBoolean(System.getProperty("driver.instrument", "true"))) {
+            return driver;
+        }
+        return new EventFiringDecorator<WebDriver>(new CommandTimingListener(), new PageLoadListener())
+                .decorate(driver);
+    }
+
+    /**
+     * Browser selection via system property: -Dbrowser=chrome/firefox
+     */
+    public static String browser() {
+        return System.getProperty("browser", "chrome").toLowerCase();
+    }
+
+    private static WebDriver createLocalDriver(String browser) {
+        DriverBinaryCache.ensureResolved(browser);
+        try {
+            return startLocalDriver(browser);
+        } catch (SessionNotCreatedException e) {
+            if (!DriverBinaryCache.isFromCacheFile(browser)) {
+                throw e;
+            }
+            // Browser was upgraded since the driver path was cached - resolve again once
+            System.err.println("⚠️  Cached " + browser + " driver rejected, re-resolving: " + e.getMessage());
+            DriverBinaryCache.refresh(browser);
+            return startLocalDriver(browser);
+        }
+    }
+
+    private static WebDriver startLocalDriver(String browser) {
+        // Detect CI environment (GitHub Actions sets CI=true)
+        boolean isCI = System.getenv("CI") != null;
+
+        switch (browser) {
+            case "firefox":
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+
+                if (isCI) {
+                    firefoxOptions.addArguments("--headless");
+                    firefoxOptions.addArguments("--no-sandbox");
+                    firefoxOptions.addArguments("--disable-dev-shm-usage");
+                    firefoxOptions.addArguments("--window-size=1920,1080");
+                }
+
+                firefoxOptions.addPreference("dom.webnotifications.enabled", false);
+                RequestBlocker.configure(firefoxOptions);
+                return new FirefoxDriver(firefoxOptions);
+
+            case "chrome":
+            default:
+                ChromeOptions chromeOptions = new ChromeOptions();
+
+                if (isCI) {
+                    chromeOptions.addArguments("--headless=new");
+                    chromeOptions.addArguments("--no-sandbox");
+                    chromeOptions.addArguments("--disable-dev-shm-usage");
+                    chromeOptions.addArguments("--disable-gpu");
+                    chromeOptions.addArguments("--window-size=1920,1080");
+                }
+
+                chromeOptions.addArguments("--disable-notifications");
+                chromeOptions.addArguments("--start-maximized");
+                ChromeDriver chromeDriver = new ChromeDriver(chromeOptions);
+                RequestBlocker.apply(chromeDriver);
+                return chromeDriver;
+        }
+    }
+
+    private static WebDriver createGridDriver(String browser) {
+        try {
+            String gridUrl = System.getProperty("grid.url", "http://localhost:4444");
+
+            switch (browser) {
+                case "firefox":
+                    FirefoxOptions firefoxOptions = new FirefoxOptions();
+                    firefoxOptions.addPreference("dom.webnotifications.enabled", false);
+                    RequestBlocker.configure(firefoxOptions);
+                    return new RemoteWebDriver(new URL(gridUrl), firefoxOptions);
+
+                case "chrome":
+                default:
+                    ChromeOptions chromeOptions = new ChromeOptions();
+                    chromeOptions.addArguments("--disable-notifications");
+                    chromeOptions.addArguments("--start-maximized");
+                    RequestBlocker.configure(chromeOptions);
+                    return new RemoteWebDriver(new URL(gridUrl), chromeOptions);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to connect to Selenium Grid: " + e.getMessage(), e);
+        }
+    }
+
+    private static void handleConsentPopup(WebDriver driver) {
+        try {
+            // Navigate to any page first
+            driver.get(SiteConfig.baseUrl());
+            if (SiteConfig.isLocal() || RequestBlocker.blocks(RequestBlocker.CONSENT_HOST)) {
+                return; // No consent popup will appear - don't wait 5s for it
+            }
+
+            // Wait for consent button and click it
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+            WebElement consentButton = wait.until(
+                    ExpectedConditions.elementToBeClickable(
+                            By.cssSelector("button.fc-button.fc-cta-consent.fc-primary-button")
+                    )
+            );
+            consentButton.click();
+
+        } catch (Exception e) {
+            // If not found, remove popup
+            ((JavascriptExecutor) driver).executeScript(
+                    "document.querySelectorAll('.fc-dialog, .fc-dialog-overlay, .fc-consent-root').forEach(e => e.remove());"
+            );
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package io.github.aslavchev.driver;
+
+import io.github.aslavchev.config.SiteConfig;
+import io.github.aslavchev.metrics.RunMetrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * DriverPool - Hands out WebDriver sessions to tests
+ * <p>
+ * Two modes, selected with -Ddriver.mode:
+ * - pooled (default): bounded pool of warm sessions, state reset between tests
+ * - fresh: previous behaviour, new browser per test, quit afterwards
+ * <p>
+ * Pool tuning:
+ * - -Ddriver.pool.size=N      max live sessions (default: available processors)
+ * - -Ddriver.pool.maxUses=N   recycle a session after N tests (default: 20)
+ * <p>
+ * Why: browser boot + consent popup is the largest fixed cost per test. Reusing a
+ * session is safe as long as everything a test can leave behind (cart, cookies,
+ * storage) is cleared before the next test gets it. Any session that failed a test
+ * or failed its reset is evicted instead of reused.
+ */
+public final class DriverPool {
+
+    private static final boolean POOLED =
+            !"fresh".equalsIgnoreCase(System.getProperty("driver.mode", "pooled"));
+    private static final int POOL_SIZE = Integer.getInteger("driver.pool.size",
+            Runtime.getRuntime().availableProcessors());
+    private static final int MAX_USES = Integer.getInteger("driver.pool.maxUses", 20);
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMinutes(5);
+
+    // Consent choice lives in these cookies - keep them so the popup doesn't come back
+    private static final String CONSENT_COOKIE_PREFIX = "FC";
+
+    private static final Sessions SESSIONS =
+            new Sessions(POOL_SIZE, MAX_USES, ACQUIRE_TIMEOUT, DriverFactory::createWarmDriver);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown));
+    }
+
+    private DriverPool() {
+    }
+
+    /**
+     * Whether sessions are reused between tests (-Ddriver.mode=pooled)
+     */
+    public static boolean isPooled() {
+        return POOLED;
+    }
+
+    /**
+     * Get a ready-to-use driver for the current test.
+     * Blocks while all pool slots are in use by other threads.
+     *
+     * @return Warm WebDriver session
+     */
+    public static WebDriver acquire() {
+        if (!POOLED) {
+            WebDriver driver = DriverFactory.createWarmDriver();
+            RunMetrics.increment("driver.sessions.booted");
+            return driver;
+        }
+        return SESSIONS.acquire();
+    }
+
+    /**
+     * Return a driver after the test.
+     *
+     * @param driver  Driver obtained from {@link #acquire()}
+     * @param healthy false if the test failed - the session is evicted rather than reused
+     */
+    public static void release(WebDriver driver, boolean healthy) {
+        if (driver == null) {
+            return;
+        }
+        if (!POOLED) {
+            quit(driver);
+            return;
+        }
+        SESSIONS.release(driver, healthy);
+    }
+
+    /**
+     * Quit all idle sessions. Safe to call more than once.
+     */
+    public static void shutdown() {
+        SESSIONS.shutdown();
+    }
+
+    /**
+     * The pooled mode: at most size sessions in use at once, each reused until it fails a test,
+     * fails its reset or reaches maxUses. A slot is held from acquire() to release(), and a
+     * released session is back in the idle queue before its slot is freed, so a thread that
+     * waited for a slot always finds it - and a new session is only booted when none is idle,
+     * which keeps live sessions within size. Booting is left to the factory, so the pool logic
+     * can be exercised without a browser.
+     */
+    static final class Sessions {
+
+        private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+        private final Map<WebDriver, Integer> uses = new ConcurrentHashMap<>();
+        private final Semaphore slots;
+        private final int maxUses;
+        private final Duration acquireTimeout;
+        private final Supplier<WebDriver> factory;
+
+        Sessions(int size, int maxUses, Duration acquireTimeout, Supplier<WebDriver> factory) {
+            this.slots = new Semaphore(size, true);
+            this.maxUses = maxUses;
+            this.acquireTimeout = acquireTimeout;
+            this.factory = factory;
+        }
+
+        WebDriver acquire() {
+            try {
+                if (!slots.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("No WebDriver session available after " + acquireTimeout);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for WebDriver session", e);
+            }
+
+            WebDriver reused = idle.pollFirst();
+            if (reused != null) {
+                RunMetrics.increment("driver.sessions.reused");
+                return reused;
+            }
+
+            try {
+                WebDriver driver = factory.get();
+                uses.put(driver, 0);
+                RunMetrics.increment("driver.sessions.booted");
+                return driver;
+            } catch (RuntimeException e) {
+                slots.release();
+                throw e;
+            }
+        }
+
+        void release(WebDriver driver, boolean healthy) {
+            try {
+                int count = uses.merge(driver, 1, Integer::sum);
+                if (!healthy) {
+                    RunMetrics.increment("driver.sessions.evicted.failure");
+                    evict(driver);
+                } else if (count >= maxUses) {
+                    RunMetrics.increment("driver.sessions.evicted.maxUses");
+                    evict(driver);
+                } else if (!resetState(driver)) {
+                    RunMetrics.increment("driver.sessions.evicted.resetFailed");
+                    evict(driver);
+                } else {
+                    idle.offerFirst(driver);
+                }
+            } finally {
+                slots.release();
+            }
+        }
+
+        void shutdown() {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                evict(driver);
+            }
+        }
+
+        /**
+         * Sessions booted and not yet quit, idle or in use
+         */
+        int live() {
+            return uses.size();
+        }
+
+        int idle() {
+            return idle.size();
+        }
+
+        private void evict(WebDriver driver) {
+            uses.remove(driver);
+            quit(driver);
+        }
+    }
+
+    /**
+     * Clear everything a test may leave behind.
+     * Order matters: the cart must be emptied while still logged in, because a
+     * logged-in user's cart is stored server-side and would come back on next login.
+     *
+     * @return true if the session is clean and can be reused
+     */
+    static boolean resetState(WebDriver driver) {
+        long start = System.currentTimeMillis();
+        try {
+            driver.get(SiteConfig.baseUrl() + "/view_cart");
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("document.querySelectorAll('.cart_quantity_delete').forEach(e => e.click());");
+            new WebDriverWait(driver, Duration.ofSeconds(5))
+                    .until(d -> d.findElements(By.cssSelector("#cart_info_table tbody tr")).isEmpty());
+
+            js.executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+            for (Cookie cookie : driver.manage().getCookies()) {
+                if (!cookie.getName().startsWith(CONSENT_COOKIE_PREFIX)) {
+                    driver.manage().deleteCookieNamed(cookie.getName());
+                }
+            }
+
+            driver.get(SiteConfig.baseUrl());
+            return true;
+        } catch (WebDriverException e) {
+            System.err.println("⚠️  Session reset failed, evicting: " + e.getMessage());
+            return false;
+        } finally {
+            RunMetrics.recordTime("driver.reset", System.currentTimeMillis() - start);
+        }
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // Log but don't fail the test - driver cleanup issue
+            System.err.println("⚠️  WebDriver quit timeout: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.aslavchev.driver;
+
+import io.github.aslavchev.metrics.RunMetrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.util.List;
+
+/**
+ * PageLoadListener - Samples the browser's own load timing after every driver.get()
+ * <p>
+ * Attached in DriverFactory next to CommandTimingListener (disabled with -Ddriver.instrument=false).
+ * One script call per navigation reads the Navigation Timing entry, so the numbers are the
+ * browser's, not WebDriver round trips:
+ * - timers "page.domContentLoaded" and "page.load" (ms from navigation start)
+ * - value  "page.resources"  resources fetched by the page (blocked requests never appear)
+ * - value  "page.jsHeapKb"   used JS heap after load (Chrome only - performance.memory)
+ * <p>
+ * Compare runs with -Dnetwork.block=true/false to see what RequestBlocker saves.
+ */
+public class PageLoadListener implements WebDriverListener {
+
+    private static final String SAMPLE_SCRIPT =
+            "const nav = performance.getEntriesByType('navigation')[0];" +
+            "const mem = performance.memory;" +
+            "return [nav ? Math.round(nav.domContentLoadedEventEnd) : -1," +
+            "        nav ? Math.round(nav.loadEventEnd) : -1," +
+            "        performance.getEntriesByType('resource').length," +
+            "        mem ? Math.round(mem.usedJSHeapSize / 1024) : -1];";
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        try {
+            @SuppressWarnings("unchecked")
+            List<Long> sample = (List<Long>) ((JavascriptExecutor) driver).executeScript(SAMPLE_SCRIPT);
+            if (sample.get(1) > 0) {
+                RunMetrics.recordTime("page.domContentLoaded", sample.get(0));
+                RunMetrics.recordTime("page.load", sample.get(1));
+            }
+            RunMetrics.recordValue("page.resources", sample.get(2));
+            if (sample.get(3) >= 0) {
+                RunMetrics.recordValue("page.jsHeapKb", sample.get(3));
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            // Measurement only - never fail a navigation because the sample could not be taken
+        }
+    }
+}
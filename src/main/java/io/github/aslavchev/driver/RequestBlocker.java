@@ -0,0 +1,181 @@
+package io.github.aslavchev.driver;
+
+import io.github.aslavchev.metrics.RunMetrics;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * RequestBlocker - Stops ad, tracker and consent-popup requests before the browser sends them
+ * <p>
+ * Why: BasePage.removeAdOverlays()/removeGoogleAds()/removeConsentPopup() deleted ad nodes
+ * after the browser had already downloaded and run them, on every page action. Blocking at
+ * the network layer means the scripts never load, so pages finish sooner, use less memory,
+ * and the DOM clean-up calls become unnecessary.
+ * <p>
+ * Mechanism per browser (all driven by the same domain list):
+ * - Chrome, local: CDP Network.setBlockedURLs on the session (before DriverFactory decorates it)
+ * - Chrome, Grid:  --host-resolver-rules mapping blocked domains to NOTFOUND
+ * - Firefox:       PAC file (data: URL) sending blocked domains to a dead proxy, everything else DIRECT
+ * The Grid and Firefox variants live in the browser options, so they work on Grid nodes
+ * that cannot reach anything running on the test machine.
+ * <p>
+ * Configuration:
+ * - -Dnetwork.block=true/false (default: true)
+ * - -Dnetwork.blocklist=path   one domain per line, # comments (replaces the built-in list)
+ * - -Dnetwork.block.extra=a.com,b.com  added to the list
+ * A domain blocks itself and all its subdomains.
+ */
+public final class RequestBlocker {
+
+    /**
+     * Host serving the consent popup (Google Funding Choices)
+     */
+    public static final String CONSENT_HOST = "fundingchoicesmessages.google.com";
+
+    private static final List<String> DEFAULT_DOMAINS = List.of(
+            "googlesyndication.com",
+            "googleadservices.com",
+            "googletagservices.com",
+            "googletagmanager.com",
+            "google-analytics.com",
+            "adservice.google.com",
+            "adtrafficquality.google",
+            "doubleclick.net",
+            CONSENT_HOST,
+            "flashtalking.com",
+            "amazon-adsystem.com",
+            "adnxs.com",
+            "criteo.com",
+            "pubmatic.com",
+            "rubiconproject.com",
+            "casalemedia.com",
+            "id5-sync.com",
+            "taboola.com",
+            "outbrain.com"
+    );
+
+    // Closed port on loopback - connections fail immediately instead of timing out
+    private static final String DEAD_PROXY = "127.0.0.1:9";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("network.block", "true"));
+    private static final List<String> DOMAINS = ENABLED ? loadDomains() : List.of();
+
+    private RequestBlocker() {
+    }
+
+    /**
+     * Whether third-party blocking is active for this run (-Dnetwork.block)
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Whether requests to this host are blocked (exact domain or any subdomain)
+     */
+    public static boolean blocks(String host) {
+        String h = host.toLowerCase(Locale.ROOT);
+        return DOMAINS.stream().anyMatch(d -> h.equals(d) || h.endsWith("." + d));
+    }
+
+    /**
+     * Block at DNS level via command-line switch - for Chrome sessions without a CDP connection (Grid)
+     */
+    static void configure(ChromeOptions options) {
+        if (!ENABLED) {
+            return;
+        }
+        String rules = DOMAINS.stream()
+                .map(d -> "MAP " + d + " ~NOTFOUND, MAP *." + d + " ~NOTFOUND")
+                .collect(Collectors.joining(", "));
+        options.addArguments("--host-resolver-rules=" + rules);
+        RunMetrics.increment("network.block.hostRules");
+    }
+
+    /**
+     * Route blocked domains to a dead proxy via PAC - works for local and Grid Firefox
+     */
+    static void configure(FirefoxOptions options) {
+        if (!ENABLED) {
+            return;
+        }
+        options.addPreference("network.proxy.type", 2); // 2 = proxy auto-config
+        options.addPreference("network.proxy.autoconfig_url", "data:application/x-ns-proxy-autoconfig;base64,"
+                + Base64.getEncoder().encodeToString(pacScript().getBytes(StandardCharsets.UTF_8)));
+        RunMetrics.increment("network.block.pac");
+    }
+
+    /**
+     * Block via CDP on a freshly started local Chrome session. Must be given the raw driver -
+     * the EventFiringDecorator proxy does not expose HasCdp.
+     */
+    static void apply(WebDriver driver) {
+        if (!ENABLED || !(driver instanceof HasCdp cdp)) {
+            return;
+        }
+        List<String> patterns = new ArrayList<>();
+        for (String domain : DOMAINS) {
+            patterns.add("*://" + domain + "/*");
+            patterns.add("*://*." + domain + "/*");
+        }
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+        RunMetrics.increment("network.block.cdp");
+    }
+
+    static String pacScript() {
+        String domains = DOMAINS.stream().map(d -> "\"" + d + "\"").collect(Collectors.joining(", "));
+        return "function FindProxyForURL(url, host) {\n"
+                + "  var blocked = [" + domains + "];\n"
+                + "  for (var i = 0; i < blocked.length; i++) {\n"
+                + "    if (host === blocked[i] || dnsDomainIs(host, '.' + blocked[i])) return 'PROXY " + DEAD_PROXY + "';\n"
+                + "  }\n"
+                + "  return 'DIRECT';\n"
+                + "}\n";
+    }
+
+    private static List<String> loadDomains() {
+        Set<String> domains = new LinkedHashSet<>();
+        String file = System.getProperty("network.blocklist");
+        if (file == null) {
+            domains.addAll(DEFAULT_DOMAINS);
+        } else {
+            try {
+                for (String line : Files.readAllLines(Path.of(file))) {
+                    addDomain(domains, line.replaceFirst("#.*", ""));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read network blocklist: " + file, e);
+            }
+        }
+        for (String extra : System.getProperty("network.block.extra", "").split(",")) {
+            addDomain(domains, extra);
+        }
+        return List.copyOf(domains);
+    }
+
+    private static void addDomain(Set<String> domains, String entry) {
+        String domain = entry.trim().toLowerCase(Locale.ROOT);
+        if (domain.startsWith("*.")) {
+            domain = domain.substring(2);
+        }
+        if (!domain.isEmpty()) {
+            domains.add(domain);
+        }
+    }
+}
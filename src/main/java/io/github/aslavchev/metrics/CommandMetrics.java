@@ -0,0 +1,154 @@
+package io.github.aslavchev.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CommandMetrics - Latency histograms of WebDriver commands, per test and per suite
+ * <p>
+ * Every command is recorded twice:
+ * - by command name (e.g. "WebElement.click", "WebDriver.findElement")
+ * - by calling page-object method (e.g. "CartPage.getCartLines")
+ * <p>
+ * The test currently running on a thread is set by BaseTest (startTest/finishTest),
+ * so parallel tests never mix their numbers.
+ */
+public final class CommandMetrics {
+
+    private static final Map<String, LatencyHistogram> suiteByCommand = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> suiteByCaller = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, Object>> testSummaries = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<TestCommands> currentTest = new ThreadLocal<>();
+
+    private CommandMetrics() {
+    }
+
+    /**
+     * Start collecting commands for a test on the current thread
+     *
+     * @param testName Test name (class.method), with the parameters of a data-driven row appended,
+     *                 e.g. "CartTests.addMultipleProductsToCartAndVerify[..., Blue Top, Men Tshirt]".
+     *                 Runs with the same name count as retries of one test
+     */
+    public static void startTest(String testName) {
+        currentTest.set(new TestCommands(testName));
+    }
+
+    /**
+     * Stop collecting for the current thread's test
+     *
+     * @return Per-test summary (by command and by caller), or null if no test was started
+     */
+    public static Map<String, Object> finishTest() {
+        TestCommands test = currentTest.get();
+        currentTest.remove();
+        if (test == null) {
+            return null;
+        }
+        Map<String, Object> summary = test.toMap();
+        testSummaries.merge(test.name, summary, (previous, latest) -> latest); // keep last attempt on retry
+        return summary;
+    }
+
+    /**
+     * Record one completed WebDriver command
+     *
+     * @param command Command name (e.g. "WebElement.click")
+     * @param caller  Page-object method that issued it, or "test" if called directly
+     * @param nanos   Elapsed time measured with System.nanoTime()
+     */
+    public static void record(String command, String caller, long nanos) {
+        suiteByCommand.computeIfAbsent(command, k -> new LatencyHistogram()).recordNanos(nanos);
+        suiteByCaller.computeIfAbsent(caller, k -> new LatencyHistogram()).recordNanos(nanos);
+
+        TestCommands test = currentTest.get();
+        if (test != null) {
+            test.byCommand.computeIfAbsent(command, k -> new LatencyHistogram()).recordNanos(nanos);
+            test.byCaller.computeIfAbsent(caller, k -> new LatencyHistogram()).recordNanos(nanos);
+        }
+    }
+
+    /**
+     * Whether any command has been recorded in this JVM
+     */
+    public static boolean hasData() {
+        return !suiteByCommand.isEmpty();
+    }
+
+    /**
+     * Write suite-level histograms and all per-test summaries as JSON
+     *
+     * @param file Target file (parent directories are created)
+     */
+    public static void writeJson(Path file) {
+        Map<String, Object> suite = new LinkedHashMap<>();
+        suite.put("byCommand", toMaps(suiteByCommand));
+        suite.put("byCaller", toMaps(suiteByCaller));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("suite", suite);
+        report.put("tests", new TreeMap<>(testSummaries));
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(file.toFile(), report);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write WebDriver command metrics: " + file, e);
+        }
+    }
+
+    /**
+     * Page-object methods ordered by total time spent in WebDriver commands
+     *
+     * @param limit Max entries
+     * @return caller -> total ms, slowest first
+     */
+    public static Map<String, Double> topCallers(int limit) {
+        Map<String, Double> top = new LinkedHashMap<>();
+        suiteByCaller.entrySet().stream()
+                .sorted((a, b) -> Double.compare(totalMs(b.getValue()), totalMs(a.getValue())))
+                .limit(limit)
+                .forEach(e -> top.put(e.getKey(), totalMs(e.getValue())));
+        return top;
+    }
+
+    private static double totalMs(LatencyHistogram histogram) {
+        return (double) histogram.toMap().get("totalMs");
+    }
+
+    private static Map<String, Object> toMaps(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> maps = new TreeMap<>();
+        histograms.forEach((name, histogram) -> maps.put(name, histogram.toMap()));
+        return maps;
+    }
+
+    private static final class TestCommands {
+        private final String name;
+        private final Map<String, LatencyHistogram> byCommand = new ConcurrentHashMap<>();
+        private final Map<String, LatencyHistogram> byCaller = new ConcurrentHashMap<>();
+
+        TestCommands(String name) {
+            this.name = name;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("byCommand", toMaps(byCommand));
+            map.put("byCaller", toMaps(byCaller));
+            return map;
+        }
+    }
+}
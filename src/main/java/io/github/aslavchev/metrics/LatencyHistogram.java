@@ -0,0 +1,136 @@
+package io.github.aslavchev.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram - Fixed-memory, lock-free latency histogram (HdrHistogram-style buckets)
+ * <p>
+ * Values are recorded in microseconds. The first 128 buckets are exact; above that
+ * every power of two is split into 64 sub-buckets, so any reported percentile is
+ * within ~1.6% of the true value while memory stays constant (~30 KB) no matter
+ * how many samples are recorded.
+ * <p>
+ * Safe to record from many threads at once; percentiles read while recording are
+ * approximate, which is fine for reporting.
+ */
+public final class LatencyHistogram {
+
+    private static final int EXACT_BUCKETS = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int BUCKET_COUNT = EXACT_BUCKETS + 57 * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record one sample
+     *
+     * @param micros Latency in microseconds (negative values are clamped to 0)
+     */
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sumMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    /**
+     * Record one sample measured with System.nanoTime()
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    /**
+     * Merge all samples of another histogram into this one
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long n = other.buckets.get(i);
+            if (n != 0) {
+                buckets.addAndGet(i, n);
+            }
+        }
+        count.add(other.count.sum());
+        sumMicros.add(other.sumMicros.sum());
+        maxMicros.accumulate(other.maxMicros.get());
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long maxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Value at the given percentile
+     *
+     * @param percentile 0-100 (e.g. 99.9)
+     * @return Upper bound of the bucket holding that percentile, in microseconds (0 if empty)
+     */
+    public long percentileMicros(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * Summary for JSON reports, in milliseconds
+     *
+     * @return count, mean, p50, p95, p99, max
+     */
+    public Map<String, Object> toMap() {
+        long n = count.sum();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", n);
+        map.put("meanMs", n == 0 ? 0.0 : toMillis(sumMicros.sum() / n));
+        map.put("p50Ms", toMillis(percentileMicros(50)));
+        map.put("p95Ms", toMillis(percentileMicros(95)));
+        map.put("p99Ms", toMillis(percentileMicros(99)));
+        map.put("maxMs", toMillis(maxMicros.get()));
+        map.put("totalMs", toMillis(sumMicros.sum()));
+        return map;
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < EXACT_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift); // 64..127
+        return EXACT_BUCKETS + (shift - 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < EXACT_BUCKETS) {
+            return index;
+        }
+        int shift = (index - EXACT_BUCKETS) / SUB_BUCKETS + 1;
+        long mantissa = (index - EXACT_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
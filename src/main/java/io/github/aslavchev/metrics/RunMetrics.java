@@ -0,0 +1,168 @@
+package io.github.aslavchev.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RunMetrics - In-process registry for framework-level run metrics
+ * <p>
+ * Architectural decisions:
+ * - Static registry (same pattern as RetryListener) - any layer can record without wiring
+ * - LongAdder/LongAccumulator so parallel threads never contend on a lock
+ * - Three primitives only: counters (events), timers (count/total/max in ms)
+ *   and values (same aggregates for non-time samples, e.g. heap size)
+ * - Dumped once per run as JSON by RunMetricsListener
+ */
+public final class RunMetrics {
+
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Stat> timers = new ConcurrentHashMap<>();
+    private static final Map<String, Stat> values = new ConcurrentHashMap<>();
+
+    private RunMetrics() {
+    }
+
+    /**
+     * Increment a named counter by one
+     *
+     * @param name Counter name (e.g. "driver.sessions.booted")
+     */
+    public static void increment(String name) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record one timed occurrence
+     *
+     * @param name     Timer name (e.g. "driver.boot")
+     * @param millis   Elapsed time in milliseconds
+     */
+    public static void recordTime(String name, long millis) {
+        timers.computeIfAbsent(name, k -> new Stat("Ms")).record(millis);
+    }
+
+    /**
+     * Record one sample of a non-time quantity
+     *
+     * @param name  Value name, unit included (e.g. "page.jsHeapKb")
+     * @param value Sample
+     */
+    public static void recordValue(String name, long value) {
+        values.computeIfAbsent(name, k -> new Stat("")).record(value);
+    }
+
+    /**
+     * Current value of a counter (0 if never incremented)
+     */
+    public static long count(String name) {
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Current values of a timer
+     *
+     * @return Map with count/totalMs/avgMs/maxMs, or null if never recorded
+     */
+    public static Map<String, Long> timer(String name) {
+        Stat timer = timers.get(name);
+        return timer == null ? null : timer.toMap();
+    }
+
+    /**
+     * Current aggregates of a value
+     *
+     * @return Map with count/total/avg/max, or null if never recorded
+     */
+    public static Map<String, Long> value(String name) {
+        Stat value = values.get(name);
+        return value == null ? null : value.toMap();
+    }
+
+    /**
+     * Point-in-time snapshot, sorted by name for stable diffs between runs
+     *
+     * @return Map with "counters", "timers" and "values" sections
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Long> counterSnapshot = new TreeMap<>();
+        counters.forEach((name, adder) -> counterSnapshot.put(name, adder.sum()));
+
+        Map<String, Map<String, Long>> timerSnapshot = new TreeMap<>();
+        timers.forEach((name, timer) -> timerSnapshot.put(name, timer.toMap()));
+
+        Map<String, Map<String, Long>> valueSnapshot = new TreeMap<>();
+        values.forEach((name, value) -> valueSnapshot.put(name, value.toMap()));
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("counters", counterSnapshot);
+        snapshot.put("timers", timerSnapshot);
+        snapshot.put("values", valueSnapshot);
+        return snapshot;
+    }
+
+    /**
+     * Write snapshot as pretty-printed JSON
+     *
+     * @param file Target file (parent directories are created)
+     */
+    public static void writeJson(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(file.toFile(), snapshot());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write run metrics: " + file, e);
+        }
+    }
+
+    /**
+     * Clear all recorded values (used between independent benchmark runs)
+     */
+    public static void reset() {
+        counters.clear();
+        timers.clear();
+        values.clear();
+    }
+
+    private static final class Stat {
+        private final String unit; // suffix of the JSON keys: "Ms" for timers, none for values
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Stat(String unit) {
+            this.unit = unit;
+        }
+
+        void record(long sample) {
+            count.increment();
+            total.add(sample);
+            max.accumulate(sample);
+        }
+
+        Map<String, Long> toMap() {
+            long n = count.sum();
+            long sum = total.sum();
+            Map<String, Long> map = new LinkedHashMap<>();
+            map.put("count", n);
+            map.put("total" + unit, sum);
+            map.put("avg" + unit, n == 0 ? 0 : sum / n);
+            map.put("max" + unit, max.get());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.aslavchev.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WaitMetrics - How long the suite spends waiting, per page and locator
+ * <p>
+ * Recorded by BasePage's wait engine (SmartWait) for every explicit wait, including
+ * the ones that time out. Keys look like "ProductsPage visible By.cssSelector: h2.title".
+ * Dumped by RunMetricsListener as wait-metrics.json with the slowest keys printed at end of run.
+ */
+public final class WaitMetrics {
+
+    private static final Map<String, LatencyHistogram> waits = new ConcurrentHashMap<>();
+
+    private WaitMetrics() {
+    }
+
+    /**
+     * Record one completed wait
+     *
+     * @param key   Page, condition and locator
+     * @param nanos Elapsed time measured with System.nanoTime()
+     */
+    public static void record(String key, long nanos) {
+        waits.computeIfAbsent(key, k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    /**
+     * Whether any wait has been recorded in this JVM
+     */
+    public static boolean hasData() {
+        return !waits.isEmpty();
+    }
+
+    /**
+     * Wait keys ordered by total time spent waiting
+     *
+     * @param limit Max entries
+     * @return key -> total ms, slowest first
+     */
+    public static Map<String, Double> topWaits(int limit) {
+        Map<String, Double> top = new LinkedHashMap<>();
+        waits.entrySet().stream()
+                .sorted((a, b) -> Double.compare(totalMs(b.getValue()), totalMs(a.getValue())))
+                .limit(limit)
+                .forEach(e -> top.put(e.getKey(), totalMs(e.getValue())));
+        return top;
+    }
+
+    /**
+     * Write one histogram summary per wait key as JSON
+     *
+     * @param file Target file (parent directories are created)
+     */
+    public static void writeJson(Path file) {
+        Map<String, Object> report = new TreeMap<>();
+        waits.forEach((key, histogram) -> report.put(key, histogram.toMap()));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(file.toFile(), report);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write wait metrics: " + file, e);
+        }
+    }
+
+    private static double totalMs(LatencyHistogram histogram) {
+        return (double) histogram.toMap().get("totalMs");
+    }
+}
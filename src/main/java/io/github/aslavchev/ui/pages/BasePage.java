@@ -1,13 +1,15 @@
 package io.github.aslavchev.ui.pages;
 
+import io.github.aslavchev.config.SiteConfig;
+import io.github.aslavchev.driver.RequestBlocker;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * BasePage - Foundation for all Page Object classes
@@ -16,18 +18,25 @@ import java.time.Duration;
  * - All page objects extend this class (DRY principle)
  * - Common wait strategies centralized here (no Thread.sleep in tests)
  * - WebDriver instance passed via constructor (Dependency Injection)
+ * - Subclasses also offer a no-arg constructor bound to the thread's driver (DriverContext)
  * - Protected methods allow child classes to use utilities
  */
 public class BasePage {
 
     protected WebDriver driver;
     protected WebDriverWait wait;
+    private final SmartWait smartWait;
 
     // Timeout configuration (single source of truth)
     private static final int DEFAULT_TIMEOUT_SECONDS = 10;
 
 
-    protected static final String BASE_URL = "https://automationexercise.com";
+    /**
+     * Base URL of the site under test (-Dbase.url, see SiteConfig)
+     */
+    protected static String baseUrl() {
+        return SiteConfig.baseUrl();
+    }
 
     /**
      * Constructor - receives WebDriver instance (Dependency Injection pattern)
@@ -37,17 +46,19 @@ public class BasePage {
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS));
+        this.smartWait = new SmartWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS), getClass().getSimpleName());
     }
 
     /**
      * Wait for element to be visible on the page
      * Handles dynamic content loading, prevents NoSuchElementException
+     * Returns as soon as the element is visible (SmartWait - no fixed polling interval)
      *
      * @param locator Element locator (By.id, By.cssSelector, etc.)
      * @return WebElement once it's visible
      */
     protected WebElement waitForElementVisible(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return smartWait.until(locator, SmartWait.Condition.VISIBLE);
     }
 
     /**
@@ -58,7 +69,7 @@ public class BasePage {
      * @return WebElement once it's clickable
      */
     protected WebElement waitForElementClickable(By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return smartWait.until(locator, SmartWait.Condition.CLICKABLE);
     }
 
     /**
@@ -96,17 +107,29 @@ public class BasePage {
 
     /**
      * Check if element is displayed on the page
-     * Returns false if element not found (doesn't throw exception)
+     * Returns false if element not found - checked without waiting or throwing (ElementProbe)
      *
      * @param locator Element to check
      * @return true if element is displayed, false otherwise
      */
     protected boolean isElementDisplayed(By locator) {
-        try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (Exception e) {
-            return false;
+        return ElementProbe.displayed(driver, locator)[0];
+    }
+
+    /**
+     * Check several elements in ONE browser round trip
+     * Why: each separate isElementDisplayed() is its own remote call
+     *
+     * @param locators Elements to check
+     * @return true only if every element is displayed
+     */
+    protected boolean areElementsDisplayed(By... locators) {
+        for (boolean displayed : ElementProbe.displayed(driver, locators)) {
+            if (!displayed) {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
@@ -138,8 +161,12 @@ public class BasePage {
 
     /**
      * Removes ad overlay elements from the page using JavaScript
+     * No-op while RequestBlocker blocks the ad host - the ads never load, so there is nothing to remove
      */
     protected void removeAdOverlays() {
+        if (RequestBlocker.blocks("flashtalking.com")) {
+            return;
+        }
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript(
                 "document.querySelectorAll('[id^=\"ftdiv\"], [id^=\"ftAdMarker\"], iframe[src*=\"flashtalking\"], iframe[src*=\"ad\"]')" +
@@ -149,8 +176,12 @@ public class BasePage {
 
     /**
      * Removes Google ad elements from the page using JavaScript
+     * No-op while RequestBlocker blocks the ad host
      */
     protected void removeGoogleAds() {
+        if (RequestBlocker.blocks("googlesyndication.com")) {
+            return;
+        }
         JavascriptExecutor js = (JavascriptExecutor) driver;
 
         js.executeScript(
@@ -159,8 +190,12 @@ public class BasePage {
     }
     /**
      * Remove consent popup dialogs
+     * No-op while RequestBlocker blocks the consent host
      */
     protected void removeConsentPopup() {
+        if (RequestBlocker.blocks(RequestBlocker.CONSENT_HOST)) {
+            return;
+        }
         ((JavascriptExecutor) driver).executeScript(
                 "document.querySelectorAll('.fc-dialog, .fc-consent-root, .fc-dialog-overlay').forEach(e => e.remove());"
         );
@@ -213,4 +248,39 @@ public class BasePage {
         return parentEl.findElements(child).get(index).getText().trim();
     }
 
+    /**
+     * Reads the text of several cells from every row of a table in ONE browser round trip.
+     * Why: findElements + getText per cell costs rows x columns remote calls;
+     * a single script returns the whole table.
+     *
+     * @param rows  Locator of the table rows (CSS-compatible)
+     * @param cells Locators of the cells, relative to a row (CSS-compatible)
+     * @return One list per row with the trimmed visible text of each cell ("" if missing)
+     */
+    @SuppressWarnings("unchecked")
+    protected List<List<String>> readRowTexts(By rows, By... cells) {
+        String[] cellSelectors = new String[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            cellSelectors[i] = Locators.css(cells[i]);
+        }
+        Object result = ((JavascriptExecutor) driver).executeScript(
+                "const cells = arguments[1];" +
+                        "return Array.from(document.querySelectorAll(arguments[0])).map(row =>" +
+                        "  cells.map(sel => { const el = row.querySelector(sel); return el ? el.innerText.trim() : ''; }));",
+                Locators.css(rows), List.of(cellSelectors)
+        );
+        return (List<List<String>>) result;
+    }
+
+    /**
+     * Reads a cart-style product table into typed lines in ONE browser round trip
+     *
+     * @return Cart lines in table order
+     */
+    protected List<CartLine> readCartLines(By rows, By name, By price, By quantity, By total) {
+        return readRowTexts(rows, name, price, quantity, total).stream()
+                .map(cells -> new CartLine(cells.get(0), cells.get(1), cells.get(2), cells.get(3)))
+                .toList();
+    }
+
 }
@@ -0,0 +1,12 @@
+package io.github.aslavchev.ui.pages;
+
+/**
+ * CartLine - One product row of the cart / review-order table, as displayed
+ *
+ * @param name     Product name (e.g. "Blue Top")
+ * @param price    Unit price (e.g. "Rs. 500")
+ * @param quantity Quantity (e.g. "1")
+ * @param total    Row total (e.g. "Rs. 500")
+ */
+public record CartLine(String name, String price, String quantity, String total) {
+}
@@ -1,10 +1,9 @@
 package io.github.aslavchev.ui.pages;
 
+import io.github.aslavchev.driver.DriverContext;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,12 +38,28 @@ public class CartPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Constructor - uses the WebDriver owned by the current test thread (DriverContext)
+     */
+    public CartPage() {
+        this(DriverContext.getDriver());
+    }
+
     /**
      * Navigate directly to cart page
      * Why: Direct navigation is faster and more reliable than clicking through UI
      */
     public void navigateToCart() {
-        navigateTo(BASE_URL + "/view_cart");
+        navigateTo(baseUrl() + "/view_cart");
+    }
+
+    /**
+     * Wait until the cart table is rendered
+     * Why: gives every way of reaching the cart the same end point, so their timings compare
+     */
+    public CartPage waitUntilLoaded() {
+        waitForElementVisible(cartTableLocator);
+        return this;
     }
 
 
@@ -98,17 +113,23 @@ public class CartPage extends BasePage {
         return getText(productNameLocator);
     }
 
+    /**
+     * Get all cart rows (name, price, quantity, total) in one browser round trip
+     * Why: assertions on several columns previously cost one findElements + one getText per cell
+     *
+     * @return Cart lines in table order
+     */
+    public List<CartLine> getCartLines() {
+        return readCartLines(cartItemsLocator, productNameLocator, productPriceLocator,
+                productQuantityLocator, productTotalLocator);
+    }
+
     /**
      * Get all product names in cart
      * @return List of product names
      */
     public List<String> getProductNames(){
-        List<WebElement> elements = driver.findElements(productNameLocator);
-        List<String > names = new ArrayList<>();
-        for (WebElement element : elements) {
-            names.add(element.getText());
-        }
-        return names;
+        return getCartLines().stream().map(CartLine::name).toList();
     }
 
     /**
@@ -116,12 +137,7 @@ public class CartPage extends BasePage {
      * @return List of prices (e.g. "RS. 500")
      */
     public List<String> getProductPrices(){
-        List<WebElement> elements = driver.findElements(productPriceLocator);
-        List<String > prices = new ArrayList<>();
-        for (WebElement element : elements) {
-            prices.add(element.getText());
-        }
-        return prices;
+        return getCartLines().stream().map(CartLine::price).toList();
     }
 
     /**
@@ -130,12 +146,7 @@ public class CartPage extends BasePage {
      * @return List of quantities
      */
     public List<String> getProductQuantities() {
-        List<WebElement> elements = driver.findElements(productQuantityLocator);
-        List<String> quantities = new ArrayList<>();
-        for (WebElement element : elements) {
-            quantities.add(element.getText());
-        }
-        return quantities;
+        return getCartLines().stream().map(CartLine::quantity).toList();
     }
 
     /**
@@ -144,12 +155,7 @@ public class CartPage extends BasePage {
      * @return List of totals
      */
     public List<String> getProductTotals() {
-        List<WebElement> elements = driver.findElements(productTotalLocator);
-        List<String> totals = new ArrayList<>();
-        for (WebElement element : elements) {
-            totals.add(element.getText());
-        }
-        return totals;
+        return getCartLines().stream().map(CartLine::total).toList();
     }
 
     public void clickProceedToCheckout(){
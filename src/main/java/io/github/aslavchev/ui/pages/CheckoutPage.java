@@ -1,10 +1,11 @@
 package io.github.aslavchev.ui.pages;
 
+import io.github.aslavchev.driver.DriverContext;
+import io.github.aslavchev.utils.Address;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class CheckoutPage extends BasePage{
@@ -46,83 +47,149 @@ public class CheckoutPage extends BasePage{
         waitForElementVisible(deliveryContainer);
     }
 
+    /**
+     * Constructor - uses the WebDriver owned by the current test thread (DriverContext)
+     */
+    public CheckoutPage() {
+        this(DriverContext.getDriver());
+    }
+
+    // -------------------- ADDRESS BLOCKS --------------------
+    /**
+     * Both address blocks with one script call (10 fields, 1 round trip)
+     * Why: field-by-field reads re-waited for the container and issued find + getText
+     * per field (~30 remote commands for delivery + billing)
+     *
+     * @return Delivery and billing address as displayed
+     */
+    public Addresses getAddresses() {
+        List<Address> addresses = readAddresses(deliveryContainer, billingContainer);
+        return new Addresses(addresses.get(0), addresses.get(1));
+    }
+
+    /**
+     * Delivery address block with one script call
+     */
+    public Address getDeliveryAddress() {
+        return readAddresses(deliveryContainer).get(0);
+    }
+
+    /**
+     * Billing address block with one script call
+     */
+    public Address getBillingAddress() {
+        return readAddresses(billingContainer).get(0);
+    }
+
     // -------------------- DELIVERY ADDRESS GETTERS --------------------
     /**
      * Get the full name from the delivery address section.
      * @return Full name as displayed on checkout page
      */
     public String getDeliveryFullName(){
-        return getNestedText(deliveryContainer,fullName);
+        return getDeliveryAddress().fullName();
     }
     public String getDeliveryStreet() {
-        return getNestedTextFromList(deliveryContainer, streetRows, 1);
+        return getDeliveryAddress().street();
     }
 
     public String getDeliveryCityStatePostcode() {
-        return getNestedText(deliveryContainer, cityStatePostcode);
+        return getDeliveryAddress().cityStatePostcode();
     }
 
     public String getDeliveryCountry() {
-        return getNestedText(deliveryContainer, country);
+        return getDeliveryAddress().country();
     }
 
     public String getDeliveryPhone() {
-        return getNestedText(deliveryContainer, phone);
+        return getDeliveryAddress().phone();
     }
 
     // -------------------- BILLING ADDRESS GETTERS --------------------
     public String getBillingFullName() {
-        return getNestedText(billingContainer, fullName);
+        return getBillingAddress().fullName();
     }
 
     public String getBillingStreet() {
-        return getNestedTextFromList(billingContainer, streetRows, 1);
+        return getBillingAddress().street();
     }
 
     public String getBillingCityStatePostcode() {
-        return getNestedText(billingContainer, cityStatePostcode);
+        return getBillingAddress().cityStatePostcode();
     }
 
     public String getBillingCountry() {
-        return getNestedText(billingContainer, country);
+        return getBillingAddress().country();
     }
 
     public String getBillingPhone() {
-        return getNestedText(billingContainer, phone);
+        return getBillingAddress().phone();
+    }
+
+    /**
+     * Reads address blocks inside the given containers in one executeScript call.
+     * Street is the second ".address_address1.address_address2" row (the first holds the company).
+     */
+    @SuppressWarnings("unchecked")
+    private List<Address> readAddresses(By... containers) {
+        String[] containerSelectors = new String[containers.length];
+        for (int i = 0; i < containers.length; i++) {
+            containerSelectors[i] = Locators.css(containers[i]);
+        }
+        List<List<String>> blocks = (List<List<String>>) ((JavascriptExecutor) driver).executeScript(
+                "const [containers, name, street, city, country, phone] = arguments;" +
+                        "const text = el => el ? el.innerText.trim() : '';" +
+                        "return containers.map(sel => {" +
+                        "  const c = document.querySelector(sel);" +
+                        "  if (!c) return null;" +
+                        "  return [text(c.querySelector(name)), text(c.querySelectorAll(street)[1])," +
+                        "          text(c.querySelector(city)), text(c.querySelector(country)), text(c.querySelector(phone))];" +
+                        "});",
+                List.of(containerSelectors), Locators.css(fullName), Locators.css(streetRows),
+                Locators.css(cityStatePostcode), Locators.css(country), Locators.css(phone)
+        );
+
+        return blocks.stream()
+                .map(f -> {
+                    if (f == null) {
+                        throw new IllegalStateException("Address container not found on checkout page");
+                    }
+                    return new Address(f.get(0), f.get(1), f.get(2), f.get(3), f.get(4));
+                })
+                .toList();
+    }
+
+    /**
+     * Delivery and billing address blocks of the checkout page
+     */
+    public record Addresses(Address delivery, Address billing) {
     }
 
 
     // ===== REVIEW ORDER =====
+    /**
+     * Get all review-order rows (name, price, quantity, total) in one browser round trip
+     *
+     * @return Cart lines in table order
+     */
+    public List<CartLine> getCartLines() {
+        return readCartLines(productRows, productName, productPrice, productQuantity, productTotal);
+    }
+
     public List<String> getProductNames() {
-        List<String> list = new ArrayList<>();
-        for (WebElement row : driver.findElements(productRows)) {
-            list.add(row.findElement(productName).getText().trim());
-        }
-        return list;
+        return getCartLines().stream().map(CartLine::name).toList();
     }
 
     public List<String> getProductPrices() {
-        List<String> list = new ArrayList<>();
-        for (WebElement row : driver.findElements(productRows)) {
-            list.add(row.findElement(productPrice).getText().trim());
-        }
-        return list;
+        return getCartLines().stream().map(CartLine::price).toList();
     }
 
     public List<String> getProductQuantities() {
-        List<String> list = new ArrayList<>();
-        for (WebElement row : driver.findElements(productRows)) {
-            list.add(row.findElement(productQuantity).getText().trim());
-        }
-        return list;
+        return getCartLines().stream().map(CartLine::quantity).toList();
     }
 
     public List<String> getProductTotals() {
-        List<String> list = new ArrayList<>();
-        for (WebElement row : driver.findElements(productRows)) {
-            list.add(row.findElement(productTotal).getText().trim());
-        }
-        return list;
+        return getCartLines().stream().map(CartLine::total).toList();
     }
 
     public String getOverallTotal() {
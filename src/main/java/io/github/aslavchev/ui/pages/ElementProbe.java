@@ -0,0 +1,103 @@
+package io.github.aslavchev.ui.pages;
+
+import io.github.aslavchev.metrics.RunMetrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ElementProbe - Non-throwing "is it on screen right now?" checks for one or more locators
+ * <p>
+ * Why: the old isElementDisplayed() called findElement inside try/catch, so every negative
+ * check built a NoSuchElementException (remote error response + stack trace) and would also
+ * wait out any implicit wait. This probe:
+ * 1. Evaluates all CSS/XPath locators in ONE executeScript call, returning a flag per locator
+ * 2. Checks locators without a script form (e.g. By.linkText) with findElements, which
+ *    returns an empty list instead of throwing
+ * 3. Never throws - a failed script (page navigating, CSP) degrades to findElements,
+ *    and anything that still fails counts as "not displayed"
+ * Timed in RunMetrics as "probe.displayed" (ms per probe call, any number of locators).
+ * <p>
+ * -Dprobe.engine=classic restores the findElement + try/catch check for comparison.
+ */
+final class ElementProbe {
+
+    private static final boolean CLASSIC = "classic".equalsIgnoreCase(System.getProperty("probe.engine", "script"));
+
+    private static final String PROBE_SCRIPT =
+            Locators.SCRIPT_FUNCTIONS +
+            "return arguments[0].map(p => {" +
+            "  if (!p) return false;" +
+            "  try { const el = find(p[0], p[1]); return !!el && visible(el); } catch (e) { return false; }" +
+            "});";
+
+    private ElementProbe() {
+    }
+
+    /**
+     * Whether each locator currently matches a displayed element (first match only, no waiting)
+     *
+     * @return One flag per locator, in argument order
+     */
+    static boolean[] displayed(WebDriver driver, By... locators) {
+        long start = System.currentTimeMillis();
+        boolean[] result = CLASSIC ? classic(driver, locators) : probe(driver, locators);
+        RunMetrics.recordTime("probe.displayed", System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private static boolean[] probe(WebDriver driver, By[] locators) {
+        boolean[] result = new boolean[locators.length];
+        boolean[] scripted = new boolean[locators.length];
+        List<List<String>> params = new ArrayList<>(locators.length);
+        for (int i = 0; i < locators.length; i++) {
+            By.Remotable.Parameters remote = Locators.scriptable(locators[i]);
+            scripted[i] = remote != null;
+            params.add(remote == null ? null : List.of(remote.using(), String.valueOf(remote.value())));
+        }
+
+        if (params.stream().anyMatch(p -> p != null)) {
+            try {
+                List<?> flags = (List<?>) ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT, params);
+                for (int i = 0; i < locators.length; i++) {
+                    result[i] = scripted[i] && Boolean.TRUE.equals(flags.get(i));
+                }
+            } catch (WebDriverException | ClassCastException | IndexOutOfBoundsException e) {
+                Arrays.fill(scripted, false); // Script unusable right now - check everything below
+            }
+        }
+        for (int i = 0; i < locators.length; i++) {
+            if (!scripted[i]) {
+                result[i] = findDisplayed(driver, locators[i]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean findDisplayed(WebDriver driver, By locator) {
+        try {
+            List<WebElement> found = driver.findElements(locator);
+            return !found.isEmpty() && found.get(0).isDisplayed();
+        } catch (WebDriverException e) {
+            return false; // Stale between find and isDisplayed, session hiccup - not displayed
+        }
+    }
+
+    private static boolean[] classic(WebDriver driver, By[] locators) {
+        boolean[] result = new boolean[locators.length];
+        for (int i = 0; i < locators.length; i++) {
+            try {
+                result[i] = driver.findElement(locators[i]).isDisplayed();
+            } catch (Exception e) {
+                result[i] = false;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.aslavchev.ui.pages;
+
+import org.openqa.selenium.By;
+
+/**
+ * Locators - Converts Selenium locators into selectors usable inside executeScript
+ * Why: lets page objects keep their By fields as the single source of truth
+ * while batching reads into one browser-side script.
+ */
+final class Locators {
+
+    /**
+     * Browser-side helpers shared by the scripts that evaluate scriptable() locators:
+     * find(using, value) returns the first match or null, visible(el) mirrors WebElement.isDisplayed()
+     * closely enough for waits and probes (display, visibility, opacity, non-empty box).
+     */
+    static final String SCRIPT_FUNCTIONS =
+            "const find = (using, value) => using === 'xpath'" +
+            "  ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue" +
+            "  : document.querySelector(value);" +
+            "const visible = el => {" +
+            "  const s = getComputedStyle(el);" +
+            "  if (s.display === 'none' || s.visibility === 'hidden' || parseFloat(s.opacity) === 0) return false;" +
+            "  const r = el.getBoundingClientRect();" +
+            "  return r.width > 0 && r.height > 0;" +
+            "};";
+
+    private Locators() {
+    }
+
+    /**
+     * CSS selector equivalent of a locator (By.id and By.cssSelector, among others)
+     *
+     * @throws IllegalArgumentException for locators without a CSS form (e.g. By.xpath)
+     */
+    static String css(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            if ("css selector".equals(parameters.using())) {
+                return String.valueOf(parameters.value());
+            }
+        }
+        throw new IllegalArgumentException("Locator has no CSS form: " + locator);
+    }
+
+    /**
+     * CSS or XPath parameters a browser-side script can evaluate (see SCRIPT_FUNCTIONS)
+     *
+     * @return The locator's parameters, or null for locators without either form (e.g. By.linkText)
+     */
+    static By.Remotable.Parameters scriptable(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            if ("css selector".equals(parameters.using()) || "xpath".equals(parameters.using())) {
+                return parameters;
+            }
+        }
+        return null;
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.aslavchev.ui.pages;
 
+import io.github.aslavchev.driver.DriverContext;
+import io.github.aslavchev.ui.session.LoginSessionCache;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -31,6 +33,13 @@ public class LoginPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Constructor - uses the WebDriver owned by the current test thread (DriverContext)
+     */
+    public LoginPage() {
+        this(DriverContext.getDriver());
+    }
+
 
     // Methods
     /**
@@ -38,7 +47,7 @@ public class LoginPage extends BasePage {
      * @return LoginPage for method chaining
      */
     public LoginPage navigateToLogin() {
-        navigateTo(BASE_URL + "/login");  // BasePage method
+        navigateTo(baseUrl() + "/login");  // BasePage method
         return this;  // Return this for method chaining
     }
 
@@ -54,6 +63,16 @@ public class LoginPage extends BasePage {
         return this;
     }
 
+    /**
+     * Log in, reusing this account's cached session cookies when available
+     * Use when a test needs an authenticated user but does not verify login itself
+     * (falls back to UI login on first use, on rejected cookies, or with -Dlogin.mode=ui)
+     */
+    public LoginPage loginWithCachedSession(String email, String password) {
+        LoginSessionCache.login(driver, email, password);
+        return this;
+    }
+
     public boolean isLoggedIn() {
         return isElementDisplayed(loggedInText);
     }
@@ -1,5 +1,6 @@
 package io.github.aslavchev.ui.pages;
 
+import io.github.aslavchev.driver.DriverContext;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -20,6 +21,13 @@ public class OrderConfirmationPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Constructor - uses the WebDriver owned by the current test thread (DriverContext)
+     */
+    public OrderConfirmationPage() {
+        this(DriverContext.getDriver());
+    }
+
 
     // ===== GETTERS / ASSERTIONS =====
     public String getOrderPlacedHeader() {
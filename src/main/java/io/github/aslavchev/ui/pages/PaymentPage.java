@@ -1,5 +1,6 @@
 package io.github.aslavchev.ui.pages;
 
+import io.github.aslavchev.driver.DriverContext;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -24,6 +25,13 @@ public class PaymentPage extends BasePage{
         super(driver);
     }
 
+    /**
+     * Constructor - uses the WebDriver owned by the current test thread (DriverContext)
+     */
+    public PaymentPage() {
+        this(DriverContext.getDriver());
+    }
+
     /**
      * Enter the cardholder's name.
      */
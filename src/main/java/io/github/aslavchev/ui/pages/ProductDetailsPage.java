@@ -1,5 +1,6 @@
 package io.github.aslavchev.ui.pages;
 
+import io.github.aslavchev.driver.DriverContext;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -30,10 +31,17 @@ public class ProductDetailsPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Constructor - uses the WebDriver owned by the current test thread (DriverContext)
+     */
+    public ProductDetailsPage() {
+        this(DriverContext.getDriver());
+    }
+
     public boolean isProductDetailsVisible() {
         // Wait for product details to load
         waitForElementVisible(productNameLocator);
-        return isElementDisplayed(productNameLocator) && isElementDisplayed(productPriceLocator);
+        return areElementsDisplayed(productNameLocator, productPriceLocator);
     }
 
     public String getProductName() {
@@ -1,10 +1,10 @@
 package io.github.aslavchev.ui.pages;
 
+import io.github.aslavchev.driver.DriverContext;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -52,13 +52,20 @@ public class ProductsPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Constructor - uses the WebDriver owned by the current test thread (DriverContext)
+     */
+    public ProductsPage() {
+        this(DriverContext.getDriver());
+    }
+
     /**
      * Navigate to products page
      *
      * @return Products page for method chaining
      */
     public ProductsPage navigateProducts() {
-        navigateTo(BASE_URL + "/products");  // BasePage method
+        navigateTo(baseUrl() + "/products");  // BasePage method
         waitForElementVisible(allProductsHeadingLocator);
         return this;  // Return this for method chaining
     }
@@ -253,7 +260,7 @@ public class ProductsPage extends BasePage {
     public CartPage clickViewCart() {
 
         // Wait for modal to appear
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".modal-content a[href='/view_cart']")));
+        waitForElementVisible(viewCartModalLinkLocator);
 
         click(viewCartModalLinkLocator);
         return new CartPage(driver);
@@ -0,0 +1,195 @@
+package io.github.aslavchev.ui.pages;
+
+import io.github.aslavchev.metrics.RunMetrics;
+import io.github.aslavchev.metrics.WaitMetrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * SmartWait - Element waits that return as soon as the condition holds
+ * <p>
+ * Why: WebDriverWait polls every 500 ms, so each wait paid up to half a second after
+ * the element was already there. This engine:
+ * 1. Runs one executeAsyncScript that checks the condition in the browser and re-checks on
+ *    every DOM mutation (MutationObserver) plus a 50 ms in-page timer for CSS-only changes -
+ *    the script resolves the moment the element is ready, in a single round trip.
+ * 2. Falls back to polling with adaptive backoff (25 ms, growing x1.5 up to 500 ms) for
+ *    locators without a CSS/XPath form (e.g. By.linkText) or when the script is interrupted
+ *    (e.g. the page navigated while waiting).
+ * Every wait is recorded in WaitMetrics per page and locator, and counted in RunMetrics
+ * (wait.observer / wait.poll / wait.timeouts).
+ * <p>
+ * -Dwait.engine=classic restores plain WebDriverWait (500 ms polling) for comparison.
+ */
+final class SmartWait {
+
+    enum Condition {
+        PRESENT, VISIBLE, CLICKABLE;
+
+        String label() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final boolean CLASSIC = "classic".equalsIgnoreCase(System.getProperty("wait.engine", "smart"));
+
+    // Max time per async script call - stays well below the driver's default 30 s script timeout
+    private static final long SCRIPT_SLICE_MILLIS = 5_000;
+    private static final long FIRST_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 500;
+
+    private static final String OBSERVE_SCRIPT =
+            "const [using, value, condition, timeoutMs, done] = arguments;" +
+            Locators.SCRIPT_FUNCTIONS +
+            "const ready = () => {" +
+            "  const el = find(using, value);" +
+            "  if (!el || condition === 'present') return el;" +
+            "  if (!visible(el)) return null;" +
+            "  return condition === 'clickable' && el.disabled ? null : el;" +
+            "};" +
+            "const now = ready();" +
+            "if (now) { done(now); return; }" +
+            "let observer, timer, timeout, finished = false;" +
+            "const finish = result => {" +
+            "  if (finished) return;" +
+            "  finished = true; observer.disconnect(); clearInterval(timer); clearTimeout(timeout); done(result);" +
+            "};" +
+            "const check = () => { const el = ready(); if (el) finish(el); };" +
+            "observer = new MutationObserver(check);" +
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "timer = setInterval(check, 50);" +
+            "timeout = setTimeout(() => finish(null), timeoutMs);";
+
+    private final WebDriver driver;
+    private final WebDriverWait classicWait;
+    private final Duration timeout;
+    private final String owner;
+
+    /**
+     * @param owner Page class name used in the metrics key
+     */
+    SmartWait(WebDriver driver, Duration timeout, String owner) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.owner = owner;
+        this.classicWait = new WebDriverWait(driver, timeout);
+    }
+
+    /**
+     * Wait until the element matching the locator satisfies the condition
+     *
+     * @return The element
+     * @throws TimeoutException if the condition does not hold within the timeout
+     */
+    WebElement until(By locator, Condition condition) {
+        long start = System.nanoTime();
+        String key = owner + " " + condition.label() + " " + locator;
+        try {
+            WebElement element = CLASSIC ? classic(locator, condition) : smart(locator, condition, start);
+            WaitMetrics.record(key, System.nanoTime() - start);
+            return element;
+        } catch (TimeoutException e) {
+            WaitMetrics.record(key, System.nanoTime() - start);
+            RunMetrics.increment("wait.timeouts");
+            throw e;
+        }
+    }
+
+    private WebElement classic(By locator, Condition condition) {
+        return switch (condition) {
+            case PRESENT -> classicWait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            case VISIBLE -> classicWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            case CLICKABLE -> classicWait.until(ExpectedConditions.elementToBeClickable(locator));
+        };
+    }
+
+    private WebElement smart(By locator, Condition condition, long start) {
+        long deadline = start + timeout.toNanos();
+        By.Remotable.Parameters remote = Locators.scriptable(locator);
+
+        if (remote != null) {
+            try {
+                while (System.nanoTime() < deadline) {
+                    long slice = Math.min(SCRIPT_SLICE_MILLIS, remainingMillis(deadline));
+                    Object result = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVE_SCRIPT,
+                            remote.using(), String.valueOf(remote.value()), condition.label(), slice);
+                    if (result instanceof WebElement element) {
+                        RunMetrics.increment("wait.observer");
+                        return element;
+                    }
+                }
+                throw timeout(locator, condition);
+            } catch (TimeoutException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // Document unloaded mid-wait, CSP blocked the script, etc. - poll for the rest
+            }
+        }
+        return poll(locator, condition, deadline);
+    }
+
+    private WebElement poll(By locator, Condition condition, long deadline) {
+        long interval = FIRST_POLL_MILLIS;
+        while (true) {
+            WebElement element = check(locator, condition);
+            if (element != null) {
+                RunMetrics.increment("wait.poll");
+                return element;
+            }
+            long remaining = remainingMillis(deadline);
+            if (remaining <= 0) {
+                throw timeout(locator, condition);
+            }
+            sleep(Math.min(interval, remaining));
+            interval = Math.min(MAX_POLL_MILLIS, interval * 3 / 2);
+        }
+    }
+
+    /**
+     * One non-throwing check of the condition (findElements never waits or throws when nothing matches)
+     */
+    private WebElement check(By locator, Condition condition) {
+        try {
+            List<WebElement> found = driver.findElements(locator);
+            if (found.isEmpty()) {
+                return null;
+            }
+            WebElement element = found.get(0);
+            return switch (condition) {
+                case PRESENT -> element;
+                case VISIBLE -> element.isDisplayed() ? element : null;
+                case CLICKABLE -> element.isDisplayed() && element.isEnabled() ? element : null;
+            };
+        } catch (StaleElementReferenceException e) {
+            return null; // Replaced between find and check - next poll sees the new one
+        }
+    }
+
+    private TimeoutException timeout(By locator, Condition condition) {
+        return new TimeoutException("Expected condition failed: waiting for element to be " + condition.label()
+                + ": " + locator + " (tried for " + timeout.toSeconds() + " second(s))");
+    }
+
+    private static long remainingMillis(long deadline) {
+        return (deadline - System.nanoTime()) / 1_000_000;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.aslavchev.ui.session;
+
+import io.github.aslavchev.config.SiteConfig;
+import io.github.aslavchev.metrics.RunMetrics;
+import io.github.aslavchev.ui.pages.LoginPage;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * LoginSessionCache - Logs in through the UI once per account, then reuses the session cookies
+ * <p>
+ * Why: tests that only need an authenticated user (e.g. checkout) were paying for
+ * login page + form submit + redirect on every data row. The first login per account
+ * goes through the UI; its session cookies are captured and injected into later
+ * drivers with addCookie, followed by a single page load to confirm the session.
+ * <p>
+ * Invalidation: if the site no longer accepts the cookies (expired/logged out
+ * server-side), the entry is dropped and the UI login runs again and re-captures.
+ * <p>
+ * -Dlogin.mode=ui disables the cache (every call logs in through the UI).
+ * Tests that verify login itself should keep using LoginPage.login() directly.
+ */
+public final class LoginSessionCache {
+
+    // Django session + CSRF cookies are all the site needs to recognise a logged-in user
+    private static final Set<String> SESSION_COOKIES = Set.of("sessionid", "csrftoken");
+
+    private static final boolean ENABLED =
+            !"ui".equalsIgnoreCase(System.getProperty("login.mode", "cached"));
+
+    private static final Map<String, Set<Cookie>> sessions = new ConcurrentHashMap<>();
+
+    private LoginSessionCache() {
+    }
+
+    /**
+     * Make the driver authenticated as the given account, reusing a cached session when possible
+     *
+     * @param driver   Driver for the current test
+     * @param email    Account email (cache key)
+     * @param password Account password (only used when a UI login is needed)
+     */
+    public static void login(WebDriver driver, String email, String password) {
+        if (ENABLED) {
+            Set<Cookie> cookies = sessions.get(email);
+            if (cookies != null) {
+                if (restore(driver, cookies)) {
+                    RunMetrics.increment("login.session.restored");
+                    return;
+                }
+                sessions.remove(email, cookies);
+                RunMetrics.increment("login.session.rejected");
+                System.out.println("⚠️  Cached session rejected for " + email + " - logging in through UI");
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        new LoginPage(driver)
+                .navigateToLogin()
+                .login(email, password)
+                .waitForLoginSuccess();
+        RunMetrics.recordTime("login.ui", System.currentTimeMillis() - start);
+
+        if (ENABLED) {
+            sessions.put(email, capture(driver));
+        }
+    }
+
+    /**
+     * Drop the cached session for one account (e.g. after a test logs out)
+     */
+    public static void invalidate(String email) {
+        sessions.remove(email);
+    }
+
+    private static Set<Cookie> capture(WebDriver driver) {
+        return driver.manage().getCookies().stream()
+                .filter(cookie -> SESSION_COOKIES.contains(cookie.getName()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static boolean restore(WebDriver driver, Set<Cookie> cookies) {
+        long start = System.currentTimeMillis();
+
+        // addCookie only works for the domain currently loaded
+        if (!driver.getCurrentUrl().startsWith(SiteConfig.baseUrl())) {
+            driver.get(SiteConfig.baseUrl());
+        }
+        for (Cookie cookie : cookies) {
+            driver.manage().deleteCookieNamed(cookie.getName());
+            driver.manage().addCookie(new Cookie(cookie.getName(), cookie.getValue(),
+                    cookie.getPath(), cookie.getExpiry()));
+        }
+
+        // One page load confirms the server still accepts the session
+        driver.get(SiteConfig.baseUrl());
+        boolean loggedIn = new LoginPage(driver).isLoggedIn();
+        RunMetrics.recordTime("login.session.restore", System.currentTimeMillis() - start);
+        return loggedIn;
+    }
+}
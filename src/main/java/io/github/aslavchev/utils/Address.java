@@ -0,0 +1,15 @@
+package io.github.aslavchev.utils;
+
+/**
+ * Address - Delivery/billing address block as shown on the checkout page
+ * Comparable directly with the expected values from UserData.toAddress()
+ *
+ * @param fullName          e.g. ". Test UserOne"
+ * @param street            e.g. "123 George Street"
+ * @param cityStatePostcode e.g. "Sydney New South Wales 2000"
+ * @param country           e.g. "Australia"
+ * @param phone             e.g. "+61 2 9555 0101"
+ */
+public record Address(String fullName, String street, String cityStatePostcode,
+                      String country, String phone) {
+}
@@ -0,0 +1,59 @@
+package io.github.aslavchev.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvHeader - Column name to index lookup for one CSV file
+ * Built once per file by CsvReader and shared by every CsvRow, so rows carry only their values.
+ */
+public final class CsvHeader {
+
+    private final List<String> names;
+    private final Map<String, Integer> index;
+    private final String source;
+
+    CsvHeader(String[] names, int count, String source) {
+        this.source = source;
+        this.index = new HashMap<>();
+        String[] trimmed = new String[count];
+        for (int i = 0; i < count; i++) {
+            trimmed[i] = names[i].trim();
+            if (index.putIfAbsent(trimmed[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate CSV column '" + trimmed[i] + "' in " + source);
+            }
+        }
+        this.names = List.of(trimmed);
+    }
+
+    /**
+     * Column names in file order
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * @return Index of the column, or -1 if the file has no such column
+     */
+    public int indexOf(Object name) {
+        Integer i = index.get(name);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the file has no such column
+     */
+    public int require(String name) {
+        int i = indexOf(name);
+        if (i < 0) {
+            throw new IllegalArgumentException("Unknown CSV column '" + name + "' in " + source + " (columns: " + names + ")");
+        }
+        return i;
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,310 @@
+package io.github.aslavchev.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * CsvReader - RFC 4180 CSV parser for the test data files
+ * <p>
+ * Why: line.split(",") broke on quoted commas ("Sydney, NSW"), compiled a regex-backed split
+ * per line, and readers mapped fields by position or copied each row into a HashMap.
+ * This parser:
+ * - Handles quoted fields, escaped quotes (""), line breaks inside quotes, CRLF/LF/CR and a UTF-8 BOM
+ * - Scans characters from its own buffer; per record it allocates only the field strings
+ *   (the values array and the CsvRow are reused)
+ * - Reads the first record as the header, so rows map onto records by column name:
+ *   reader.readAll(row -> new Credentials(row.get("email"), row.get("password")))
+ * Blank lines are skipped. Malformed input fails with the file and line number.
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char BOM = '\uFEFF';
+
+    private final Reader in;
+    private final String source;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(64);
+    private final CsvHeader header;
+    private final CsvRow row;
+    private int pos;
+    private int limit;
+    private int line = 1;
+    private String[] values = new String[16];
+
+    private CsvReader(Reader in, String source) {
+        this.in = in;
+        this.source = source;
+        try {
+            if (peek() == BOM) {
+                pos++;
+            }
+            int count = readRecord();
+            this.header = new CsvHeader(values, Math.max(count, 0), source);
+        } catch (RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+        this.row = new CsvRow(header, source);
+    }
+
+    /**
+     * Open a UTF-8 file and read its header
+     */
+    public static CsvReader open(Path file) {
+        try {
+            return new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), file.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV file: " + file, e);
+        }
+    }
+
+    /**
+     * Open a UTF-8 classpath resource and read its header
+     *
+     * @throws IllegalStateException if the resource does not exist
+     */
+    public static CsvReader openResource(String resource) {
+        InputStream in = CsvReader.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalStateException(resource + " not found on classpath");
+        }
+        return new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8), resource);
+    }
+
+    public CsvHeader header() {
+        return header;
+    }
+
+    /**
+     * Advance to the next record
+     *
+     * @return The reused row holding that record, or null at end of file
+     */
+    public CsvRow next() {
+        int start = skipBlankLines();
+        int count = readRecord();
+        if (count < 0) {
+            return null;
+        }
+        row.fill(values, count, start);
+        return row;
+    }
+
+    /**
+     * Map every remaining record
+     *
+     * @param mapper Called once per record; must copy what it needs out of the row
+     */
+    public <T> List<T> readAll(Function<CsvRow, T> mapper) {
+        List<T> result = new ArrayList<>();
+        for (CsvRow r = next(); r != null; r = next()) {
+            result.add(mapper.apply(r));
+        }
+        return result;
+    }
+
+    /**
+     * Lazily map the remaining records - one record is parsed per next() call
+     * The reader closes itself after the last record or when the mapper throws.
+     */
+    public <T> Iterator<T> stream(Function<CsvRow, T> mapper) {
+        return new Iterator<>() {
+            private CsvRow pending = advance();
+
+            @Override
+            public boolean hasNext() {
+                return pending != null;
+            }
+
+            @Override
+            public T next() {
+                if (pending == null) {
+                    throw new NoSuchElementException("No more records in " + source);
+                }
+                try {
+                    T mapped = mapper.apply(pending);
+                    pending = advance();
+                    return mapped;
+                } catch (RuntimeException e) {
+                    pending = null;
+                    closeQuietly();
+                    throw e;
+                }
+            }
+
+            private CsvRow advance() {
+                CsvRow r = CsvReader.this.next();
+                if (r == null) {
+                    closeQuietly();
+                }
+                return r;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        closeQuietly();
+    }
+
+    // ==================== PARSER ====================
+
+    /**
+     * @return Line number the next record starts on
+     */
+    private int skipBlankLines() {
+        int c = peek();
+        while (c == '\r' || c == '\n') {
+            pos++;
+            if (c == '\r' && peek() == '\n') {
+                pos++;
+            }
+            line++;
+            c = peek();
+        }
+        return line;
+    }
+
+    /**
+     * Parse one record into values
+     *
+     * @return Number of fields, or -1 at end of file
+     */
+    private int readRecord() {
+        if (peek() == -1) {
+            return -1;
+        }
+        int count = 0;
+        while (true) {
+            int c = peek() == '"' ? readQuoted(count) : readUnquoted(count);
+            count++;
+
+            if (c == ',') {
+                continue;
+            }
+            if (c == '\r' && peek() == '\n') {
+                pos++;
+            }
+            if (c != -1) {
+                line++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Fast path: scan the buffer for the delimiter and copy the field out in one go
+     *
+     * @return The delimiter that ended the field (consumed), or -1 at end of file
+     */
+    private int readUnquoted(int index) {
+        field.setLength(0);
+        int start = pos;
+        while (true) {
+            while (pos < limit) {
+                char ch = buffer[pos];
+                if (ch == ',' || ch == '\n' || ch == '\r') {
+                    store(index, field.isEmpty()
+                            ? new String(buffer, start, pos - start)
+                            : field.append(buffer, start, pos - start).toString());
+                    pos++;
+                    return ch;
+                }
+                pos++;
+            }
+            field.append(buffer, start, pos - start); // Field continues in the next buffer
+            if (!fill()) {
+                store(index, field.toString());
+                return -1;
+            }
+            start = 0;
+        }
+    }
+
+    /**
+     * Quoted field: "" is an escaped quote, delimiters and line breaks are literal
+     *
+     * @return The delimiter after the closing quote (consumed), or -1 at end of file
+     */
+    private int readQuoted(int index) {
+        field.setLength(0);
+        pos++; // Opening quote
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw malformed("Unterminated quoted field");
+            }
+            if (c == '"') {
+                c = read();
+                if (c != '"') {
+                    if (c != ',' && c != '\r' && c != '\n' && c != -1) {
+                        throw malformed("Unexpected character after closing quote");
+                    }
+                    store(index, field.toString());
+                    return c;
+                }
+            } else if (c == '\n') {
+                line++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    private void store(int index, String value) {
+        if (index == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[index] = value;
+    }
+
+    private int read() {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    private int peek() {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos];
+    }
+
+    private boolean fill() {
+        try {
+            int n = in.read(buffer, 0, buffer.length);
+            pos = 0;
+            limit = Math.max(n, 0);
+            return n > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV: " + source, e);
+        }
+    }
+
+    private IllegalArgumentException malformed(String problem) {
+        return new IllegalArgumentException("Malformed CSV at " + source + ":" + line + " - " + problem);
+    }
+
+    private void closeQuietly() {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // Read-only source - nothing to flush
+        }
+    }
+}
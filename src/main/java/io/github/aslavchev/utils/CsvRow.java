@@ -0,0 +1,149 @@
+package io.github.aslavchev.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * CsvRow - The current record of a CsvReader
+ * <p>
+ * One instance per reader, refilled for every record (no per-row objects besides the field
+ * strings). Read what you need inside the mapping function - e.g. into a record like UserData -
+ * and do not keep the row itself; use toMap() when a detached copy is needed.
+ */
+public final class CsvRow {
+
+    private final CsvHeader header;
+    private final String source;
+    private String[] values;
+    private int size;
+    private int line;
+
+    CsvRow(CsvHeader header, String source) {
+        this.header = header;
+        this.source = source;
+    }
+
+    void fill(String[] values, int size, int line) {
+        this.values = values;
+        this.size = size;
+        this.line = line;
+    }
+
+    /**
+     * Value of a column by header name
+     *
+     * @throws IllegalArgumentException if the file has no such column or this row is too short
+     */
+    public String get(String column) {
+        int i = header.require(column);
+        if (i >= size) {
+            throw new IllegalArgumentException("Missing value for column '" + column + "' at " + source + ":" + line);
+        }
+        return values[i];
+    }
+
+    /**
+     * Value of a column by position (0-based)
+     */
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("No field " + index + " at " + source + ":" + line + " (" + size + " fields)");
+        }
+        return values[index];
+    }
+
+    /**
+     * Number of fields in this record
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Line where this record starts (1-based, header is line 1)
+     */
+    public int line() {
+        return line;
+    }
+
+    public CsvHeader header() {
+        return header;
+    }
+
+    /**
+     * Detached, read-only header -> value view of this record
+     * Lookups go through the shared header index - no per-row hash table is built.
+     */
+    public Map<String, String> toMap() {
+        return new RowMap(header, Arrays.copyOf(values, size));
+    }
+
+    @Override
+    public String toString() {
+        return source + ":" + line + " " + Arrays.toString(Arrays.copyOf(values, size));
+    }
+
+    private static final class RowMap extends AbstractMap<String, String> {
+
+        private final CsvHeader header;
+        private final String[] values;
+
+        RowMap(CsvHeader header, String[] values) {
+            this.header = header;
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object key) {
+            int i = header.indexOf(key);
+            return i >= 0 && i < values.length ? values[i] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int i = header.indexOf(key);
+            return i >= 0 && i < values.length;
+        }
+
+        @Override
+        public int size() {
+            return Math.min(header.size(), values.length);
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < RowMap.this.size();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = next++;
+                            return new SimpleImmutableEntry<>(header.names().get(i), values[i]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return RowMap.this.size();
+                }
+            };
+        }
+    }
+}
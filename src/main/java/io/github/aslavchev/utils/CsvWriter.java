@@ -0,0 +1,102 @@
+package io.github.aslavchev.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CsvWriter - RFC 4180 writer, the counterpart of CsvReader
+ * Fields are quoted only when they contain a comma, quote or line break; rows end with LF
+ * like the checked-in test data files. Output is buffered and streamed - nothing is held per row.
+ */
+public final class CsvWriter implements Closeable {
+
+    private final Writer out;
+    private final Path file;
+    private final int columns;
+    private long rows;
+
+    private CsvWriter(Path file, String... header) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.file = file;
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.columns = header.length;
+        write(header);
+    }
+
+    /**
+     * Create (or overwrite) a file and write its header row
+     */
+    public static CsvWriter open(Path file, String... header) {
+        try {
+            return new CsvWriter(file, header);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write CSV file: " + file, e);
+        }
+    }
+
+    /**
+     * Write one data row
+     *
+     * @throws IllegalArgumentException if the number of values differs from the header
+     */
+    public CsvWriter row(String... values) {
+        if (values.length != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " values for " + file + ", got " + values.length);
+        }
+        try {
+            write(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write CSV file: " + file, e);
+        }
+        rows++;
+        return this;
+    }
+
+    /**
+     * Data rows written so far (header excluded)
+     */
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write CSV file: " + file, e);
+        }
+    }
+
+    private void write(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(values[i] == null ? "" : values[i]);
+        }
+        out.write('\n');
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -1,124 +1,136 @@
 package io.github.aslavchev.utils;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
 /**
  * TestDataReader - Utility class for reading test data from CSV files
  * Used by TestNG DataProviders to externalize test data
+ * <p>
+ * Each reader comes in two forms:
+ * - read*:   Object[][] - whole file parsed up front (small files, index-based access)
+ * - stream*: Iterator&lt;Object[]&gt; - rows parsed on demand as TestNG asks for them, so the
+ *            first test starts after one row is read and memory stays flat for any file size.
+ *            The file is closed when the last row has been handed out.
+ * Parsing is done by CsvReader (RFC 4180 - quoted fields may contain commas); columns are
+ * looked up by header name.
+ * <p>
+ * -Dtestdata.dir points all readers at another directory with the same file names,
+ * e.g. a large data set written by TestDataGenerator (default: src/test/resources/testdata).
  */
 public class TestDataReader {
 
+    private static final Path TESTDATA_DIR = Path.of(System.getProperty("testdata.dir", "src/test/resources/testdata"));
+
     /**
      * Reads checkout payment data from CSV file and enriches with product prices
      * CSV columns: testName, productName, cardName, cardNumber, cvc, expiryMonth, expiryYear
      * Returns: testName, productName, productPrice, cardName, cardNumber, cvc, expiryMonth, expiryYear (8 params)
      *
-     * @param csvFileName        Name of CSV file in src/test/resources/testdata/
+     * @param csvFileName        Name of CSV file in the test data directory
      * @param productPriceLookup Function to get price for product name
      * @return 2D Object array for TestNG DataProvider
      * @throws RuntimeException if file not found or parsing fails
      */
-    public static Object[][] readCheckoutPaymentData(String csvFileName, java.util.function.Function<String, String> productPriceLookup) {
-        String filePath = "src/test/resources/testdata/" + csvFileName;
-        List<Object[]> rows = new ArrayList<>();
-
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            // Skip header row
-            br.readLine();
-
-            // Read data rows
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                if (values.length == 7) {  // testName, productName, cardName, cardNumber, cvc, expiryMonth, expiryYear
-                    String testName = values[0];
-                    String productName = values[1];
-                    String productPrice = productPriceLookup.apply(productName);  // Lookup price from catalog
-                    String cardName = values[2];
-                    String cardNumber = values[3];
-                    String cvc = values[4];
-                    String expiryMonth = values[5];
-                    String expiryYear = values[6];
+    public static Object[][] readCheckoutPaymentData(String csvFileName, Function<String, String> productPriceLookup) {
+        return toArray(streamCheckoutPaymentData(csvFileName, productPriceLookup));
+    }
 
-                    // Build row with 8 params (insert productPrice)
-                    rows.add(new Object[]{testName, productName, productPrice, cardName, cardNumber, cvc, expiryMonth, expiryYear});
-                } else {
-                    throw new IllegalArgumentException(
-                            "Invalid CSV row (expected 7 columns): " + line
-                    );
-                }
+    /**
+     * Streaming variant of readCheckoutPaymentData - rows are read and enriched one at a time
+     *
+     * @param csvFileName        Name of CSV file in the test data directory
+     * @param productPriceLookup Function to get price for product name
+     * @return Lazy row iterator for a TestNG DataProvider
+     * @throws RuntimeException if file not found or parsing fails
+     */
+    public static Iterator<Object[]> streamCheckoutPaymentData(String csvFileName, Function<String, String> productPriceLookup) {
+        return CsvReader.open(resolve(csvFileName)).stream(row -> {
+            if (row.size() != 7) {  // testName, productName, cardName, cardNumber, cvc, expiryMonth, expiryYear
+                throw new IllegalArgumentException(
+                        "Invalid CSV row (expected 7 columns): " + row
+                );
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read CSV file: " + filePath, e);
-        }
+            String productName = row.get("productName");
+            String productPrice = productPriceLookup.apply(productName);  // Lookup price from catalog
 
-        // Convert List to 2D Object array
-        return rows.toArray(new Object[0][]);
+            // Build row with 8 params (insert productPrice)
+            return new Object[]{row.get("testName"), productName, productPrice, row.get("cardName"),
+                    row.get("cardNumber"), row.get("cvc"), row.get("expiryMonth"), row.get("expiryYear")};
+        });
     }
 
+    /**
+     * Reads a CSV with a header row into one Map (header -> value) per row
+     *
+     * @param csvFileName Name of CSV file in the test data directory
+     * @return 2D Object array, one Map parameter per row
+     */
     public static Object[][] readSimpleTestData(String csvFileName) {
-        String filePath = "src/test/resources/testdata/" + csvFileName;
-        List<Map<String, String>> rows = new ArrayList<>();
+        return toArray(streamSimpleTestData(csvFileName));
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String headerLine = br.readLine();
-            String[] headers = headerLine.split(",");
+    /**
+     * Streaming variant of readSimpleTestData - one Map per row, built on demand
+     * The Maps are read-only views over the row's values (see CsvRow.toMap)
+     *
+     * @param csvFileName Name of CSV file in the test data directory
+     * @return Lazy row iterator for a TestNG DataProvider
+     */
+    public static Iterator<Object[]> streamSimpleTestData(String csvFileName) {
+        return CsvReader.open(resolve(csvFileName)).stream(row -> new Object[]{row.toMap()});
+    }
 
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                Map<String, String> row = new HashMap<>();
-                for (int i = 0; i < headers.length; i++) {
-                    row.put(headers[i], values[i]);
-                }
-                rows.add(row);
+    /**
+     * Reads the given columns of every row, in that order
+     *
+     * @param csvFileName Name of CSV file in the test data directory
+     * @param columns     Header names of the columns to return
+     * @return 2D Object array, one String parameter per column
+     */
+    public static Object[][] readColumns(String csvFileName, String... columns) {
+        return toArray(streamColumns(csvFileName, columns));
+    }
+
+    /**
+     * Streaming variant of readColumns
+     */
+    public static Iterator<Object[]> streamColumns(String csvFileName, String... columns) {
+        return CsvReader.open(resolve(csvFileName)).stream(row -> {
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = row.get(columns[i]);
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read CSV: " + filePath, e);
-        }
+            return values;
+        });
+    }
 
-        return rows.stream().map(row -> new Object[]{row}).toArray(Object[][]::new);
+    /**
+     * Location of a test data file - plain names resolve against the test data directory
+     * (-Dtestdata.dir); absolute paths are used as-is
+     */
+    public static Path resolve(String csvFileName) {
+        return TESTDATA_DIR.resolve(csvFileName);
+    }
+
+    private static Object[][] toArray(Iterator<Object[]> rows) {
+        List<Object[]> all = new ArrayList<>();
+        rows.forEachRemaining(all::add);
+        return all.toArray(new Object[0][]);
     }
 
     /**
-     * Reads user data from CSV and returns UserData for matching email
-     * CSV columns: email, fullName, street, cityStatePostcode, country, phone
+     * Returns the expected UserData for a test account
+     * Served from UserDataIndex - user-data.csv is parsed once, not on every call
      *
      * @param email Email address to lookup
      * @return UserData object with expected values for assertions
      * @throws RuntimeException if email not found in CSV or file read fails
      */
     public static UserData getUserData(String email) {
-        String filePath = "src/test/resources/testdata/user-data.csv";
-
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            br.readLine(); // Skip header
-
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                if (values.length == 7 && values[0].equals(email)) {
-                    return new UserData(
-                            values[0], // email
-                            values[1], // username
-                            values[2], // fullName
-                            values[3], // street
-                            values[4], // cityStatePostcode
-                            values[5], // country
-                            values[6]  // phone
-                    );
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read user-data.csv: " + filePath, e);
-        }
-
-        throw new RuntimeException("User not found in user-data.csv: " + email);
+        return UserDataIndex.get(email);
     }
 }
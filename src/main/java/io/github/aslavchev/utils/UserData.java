@@ -23,4 +23,26 @@ public class UserData {
         this.country = country;
         this.phone = phone;
     }
-}
\ No newline at end of file
+
+    /**
+     * Map a user-data.csv record by column name
+     * Columns: email, username, fullName, street, cityStatePostcode, country, phone
+     */
+    public static UserData from(CsvRow row) {
+        return new UserData(
+                row.get("email"),
+                row.get("username"),
+                row.get("fullName"),
+                row.get("street"),
+                row.get("cityStatePostcode"),
+                row.get("country"),
+                row.get("phone"));
+    }
+
+    /**
+     * Expected address block for this user (same shape as CheckoutPage address reads)
+     */
+    public Address toAddress() {
+        return new Address(fullName, street, cityStatePostcode, country, phone);
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.aslavchev.utils;
+
+import io.github.aslavchev.metrics.RunMetrics;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * UserDataIndex - user-data.csv loaded once into an email-keyed, read-only map
+ * <p>
+ * Why: TestDataReader.getUserData() reopened and scanned the file on every call, so each
+ * checkout/login test row paid file I/O. Now:
+ * - The file is parsed once, on first lookup (holder idiom - thread-safe, no locks)
+ * - Lookups are a map read on an immutable snapshot, shared by all test threads
+ * - Emails match case-insensitively
+ * <p>
+ * -Dtestdata.reload=true watches the file (WatchService on a daemon thread) and swaps in a
+ * fresh snapshot when it changes, so test data can be edited during a long local session.
+ * The file is never touched on the lookup path; a reload that fails to parse keeps the
+ * previous snapshot (as does an empty file). Reloads are counted in RunMetrics as "testdata.reloads".
+ */
+public final class UserDataIndex {
+
+    private static final Path FILE = TestDataReader.resolve("user-data.csv");
+    private static final boolean RELOAD = Boolean.parseBoolean(System.getProperty("testdata.reload", "false"));
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    private UserDataIndex() {
+    }
+
+    /**
+     * Look up the expected data for a test account
+     *
+     * @param email Account email (case-insensitive)
+     * @throws RuntimeException if the email is not in user-data.csv
+     */
+    public static UserData get(String email) {
+        UserData user = Holder.USERS.get().get(key(email));
+        if (user == null) {
+            throw new RuntimeException("User not found in user-data.csv: " + email);
+        }
+        return user;
+    }
+
+    /**
+     * All users in file order (current snapshot)
+     */
+    public static Map<String, UserData> all() {
+        return Holder.USERS.get();
+    }
+
+    private static Map<String, UserData> load() {
+        try (CsvReader reader = CsvReader.open(FILE)) {
+            Map<String, UserData> users = new LinkedHashMap<>();
+            for (CsvRow row = reader.next(); row != null; row = reader.next()) {
+                UserData user = UserData.from(row);
+                users.put(key(user.email), user);
+            }
+            return Collections.unmodifiableMap(users);
+        }
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void startWatcher(AtomicReference<Map<String, UserData>> users) {
+        Path dir = FILE.toAbsolutePath().getParent();
+        try {
+            WatchService watcher = FileSystems.getDefault().newWatchService();
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            Thread thread = new Thread(() -> watch(watcher, users), "user-data-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException e) {
+            System.out.println("⚠️ Cannot watch " + FILE + " for changes - using the data loaded at startup: " + e.getMessage());
+        }
+    }
+
+    private static void watch(WatchService watcher, AtomicReference<Map<String, UserData>> users) {
+        try {
+            while (true) {
+                WatchKey watchKey = watcher.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    changed |= FILE.getFileName().equals(event.context());
+                }
+                watchKey.reset();
+                if (changed) {
+                    Thread.sleep(DEBOUNCE_MILLIS); // Let the editor finish writing
+                    watchKey.pollEvents();
+                    reload(users);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // JVM shutting down
+        }
+    }
+
+    private static void reload(AtomicReference<Map<String, UserData>> users) {
+        try {
+            Map<String, UserData> fresh = load();
+            if (fresh.isEmpty()) {
+                throw new IllegalStateException("no users (file truncated mid-write?)");
+            }
+            users.set(fresh);
+            RunMetrics.increment("testdata.reloads");
+            System.out.println("🔄 Reloaded " + FILE + " (" + users.get().size() + " users)");
+        } catch (RuntimeException e) {
+            // Half-written file or a typo - keep serving the last good snapshot
+            System.out.println("⚠️ Ignoring invalid " + FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static final class Holder {
+        private static final AtomicReference<Map<String, UserData>> USERS = new AtomicReference<>(load());
+
+        static {
+            if (RELOAD) {
+                startWatcher(USERS);
+            }
+        }
+    }
+}
@@ -3,14 +3,22 @@ package io.github.aslavchev.api;
 
 
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
-import static io.restassured.RestAssured.given;
+import static io.github.aslavchev.api.ApiClient.given;
+import static io.github.aslavchev.api.ApiClient.streaming;
 
 
 public class APIHelper {
     public static Response getAllProducts() {
-        return given()
-                    .log().all()
+        return logged(given())
+                .when()
+                    .get("/productsList");
+    }
+
+    // Body not read yet - stream it with response.asInputStream() and read it to the end
+    public static Response streamAllProducts() {
+        return logged(streaming())
                 .when()
                     .get("/productsList");
     }
@@ -22,8 +30,7 @@ public class APIHelper {
                     .post("/searchProduct");
     }
     public static Response searchProductNoParams() {
-        return given()
-                .log().all()
+        return logged(given())
                 .when()
                 .post("/searchProduct");
     }
@@ -35,9 +42,13 @@ public class APIHelper {
                 .post("/verifyLogin");
     }
     public static Response getAllBrands() {
-        return given()
-                .log().all()
+        return logged(given())
                 .when()
                 .get("/brandsList");
     }
+
+    // Full request logging for functional runs; -Dapi.log=false turns it off (ApiLoadGenerator does)
+    private static RequestSpecification logged(RequestSpecification request) {
+        return Boolean.parseBoolean(System.getProperty("api.log", "true")) ? request.log().all() : request;
+    }
 }
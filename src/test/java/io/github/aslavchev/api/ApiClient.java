@@ -0,0 +1,178 @@
+package io.github.aslavchev.api;
+
+import io.github.aslavchev.config.SiteConfig;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.ProxySelectorRoutePlanner;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+
+import java.net.ProxySelector;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ApiClient - Shared REST Assured configuration for all API calls
+ * <p>
+ * Why: REST Assured's default HttpClientConfig builds a new HttpClient, with its own connection
+ * manager, for every request, so every call paid a TCP connect and TLS handshake and then left
+ * its connection for the GC. BaseAPITest also rewrote the RestAssured globals for every test class.
+ * Now:
+ * - One pooled connection manager (thread-safe) is shared by every request and test thread,
+ *   so parallel API tests reuse warm keep-alive connections
+ * - Each request still gets its own lightweight HttpClient on top of the pool, so cookies and
+ *   per-request params never leak between tests or threads
+ * - One immutable RequestSpecification (base URI, /api path, pooled config) is merged into
+ *   each request instead of mutable RestAssured globals
+ * <p>
+ * Configuration:
+ * - -Dapi.pool=false              new client per request (REST Assured default, for comparison)
+ * - -Dapi.pool.size=N             max connections to the site (default: 20)
+ * - -Dapi.keepalive.ms=N          max idle time of a pooled connection (default: 30000)
+ * - -Dapi.timeout.connect.ms=N    TCP connect timeout (default: 10000)
+ * - -Dapi.timeout.read.ms=N       socket read timeout (default: 30000)
+ * Time waiting for a free pooled connection is capped by the connect timeout.
+ * <p>
+ * Usage: ApiClient.given().formParam(...).when().post("/searchProduct")
+ */
+@SuppressWarnings("deprecation") // REST Assured 5 still requires the HttpClient 4.x AbstractHttpClient API
+public final class ApiClient {
+
+    private static final boolean POOLED = Boolean.parseBoolean(System.getProperty("api.pool", "true"));
+    private static final int POOL_SIZE = Integer.getInteger("api.pool.size", 20);
+    private static final long KEEP_ALIVE_MILLIS = Long.getLong("api.keepalive.ms", 30_000);
+    private static final int CONNECT_TIMEOUT_MILLIS = Integer.getInteger("api.timeout.connect.ms", 10_000);
+    private static final int READ_TIMEOUT_MILLIS = Integer.getInteger("api.timeout.read.ms", 30_000);
+
+    private static final AtomicReference<Spec> spec = new AtomicReference<>();
+
+    /**
+     * Shared specs for one base URL (SiteConfig.baseUrl() can change at suite start)
+     */
+    private record Spec(String baseUrl, RequestSpecification specification, RequestSpecification streaming) {
+    }
+
+    private ApiClient() {
+    }
+
+    /**
+     * Start a request against the site's /api path on the shared connection pool
+     */
+    public static RequestSpecification given() {
+        return RestAssured.given().spec(spec());
+    }
+
+    /**
+     * Start a request whose body is left on the connection for the caller to stream
+     * (response.asInputStream()). The pooled connection is only released once that stream is
+     * read to the end or closed, so use this only with a reader that always does both -
+     * e.g. ProductsListValidator.validate(Response)
+     */
+    public static RequestSpecification streaming() {
+        return RestAssured.given().spec(current().streaming());
+    }
+
+    /**
+     * Shared, read-only spec: base URI, /api base path and the pooled HTTP client config
+     */
+    public static RequestSpecification spec() {
+        return current().specification();
+    }
+
+    private static Spec current() {
+        String baseUrl = SiteConfig.baseUrl();
+        Spec current = spec.get();
+        if (current == null || !current.baseUrl().equals(baseUrl)) {
+            current = new Spec(baseUrl, spec(baseUrl, POOLED), spec(baseUrl, POOLED, false));
+            spec.set(current);
+        }
+        return current;
+    }
+
+    /**
+     * Maximum connections in the shared pool (-Dapi.pool.size)
+     */
+    public static int poolSize() {
+        return POOL_SIZE;
+    }
+
+    /**
+     * Connections currently leased/idle in the shared pool (for diagnostics)
+     */
+    public static PoolStats poolStats() {
+        return Pool.MANAGER.getTotalStats();
+    }
+
+    /**
+     * Spec for the site's /api path with (pooled=true) or without the shared connection pool
+     */
+    static RequestSpecification spec(String baseUrl, boolean pooled) {
+        return spec(baseUrl, pooled, true);
+    }
+
+    /**
+     * As spec(baseUrl, pooled); with buffered=false a pooled response keeps its body on the
+     * connection instead of reading it up front (see bufferBody)
+     */
+    static RequestSpecification spec(String baseUrl, boolean pooled, boolean buffered) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setBasePath("/api");
+        if (!pooled) {
+            return builder.build();
+        }
+        builder.setConfig(RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .httpClientFactory(ApiClient::pooledClient)));
+        return buffered ? builder.addFilter(ApiClient::bufferBody).build() : builder.build();
+    }
+
+    /**
+     * REST Assured reads the body lazily, and a pooled connection only returns to the pool once
+     * its body is read - so a caller that only checks the status code (CartSeeder) would hold
+     * the connection forever. Buffering the body up front always releases it.
+     */
+    private static Response bufferBody(FilterableRequestSpecification request,
+                                       FilterableResponseSpecification response, FilterContext context) {
+        Response result = context.next(request, response);
+        result.getBody().asByteArray();
+        return result;
+    }
+
+    private static DefaultHttpClient pooledClient() {
+        DefaultHttpClient client = new DefaultHttpClient(Pool.MANAGER);
+        client.setRoutePlanner(new ProxySelectorRoutePlanner(Pool.SCHEMES, ProxySelector.getDefault()));
+        client.setKeepAliveStrategy((response, context) -> {
+            // Honour a shorter "Keep-Alive: timeout=N" from the server, never keep longer than configured
+            long serverMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverMillis > 0 ? Math.min(serverMillis, KEEP_ALIVE_MILLIS) : KEEP_ALIVE_MILLIS;
+        });
+        HttpParams params = client.getParams();
+        HttpConnectionParams.setConnectionTimeout(params, CONNECT_TIMEOUT_MILLIS);
+        HttpConnectionParams.setSoTimeout(params, READ_TIMEOUT_MILLIS);
+        params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, CONNECT_TIMEOUT_MILLIS);
+        return client;
+    }
+
+    private static final class Pool {
+        private static final SchemeRegistry SCHEMES = SchemeRegistryFactory.createSystemDefault();
+        private static final PoolingClientConnectionManager MANAGER = new PoolingClientConnectionManager(SCHEMES);
+
+        static {
+            MANAGER.setMaxTotal(POOL_SIZE);
+            MANAGER.setDefaultMaxPerRoute(POOL_SIZE);
+        }
+    }
+}
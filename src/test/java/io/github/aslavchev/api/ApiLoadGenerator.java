@@ -0,0 +1,489 @@
+package io.github.aslavchev.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.aslavchev.api.model.ApiJson;
+import io.github.aslavchev.config.SiteConfig;
+import io.github.aslavchev.metrics.LatencyHistogram;
+import io.github.aslavchev.stub.LocalSite;
+import io.github.aslavchev.utils.CredentialPool;
+import io.github.aslavchev.utils.Credentials;
+import io.github.aslavchev.utils.TestDataReader;
+import io.restassured.response.Response;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ApiLoadGenerator - Replays APIHelper calls as load from virtual threads
+ * <p>
+ * Why: the API tests only ever send one request at a time, so nothing told us how the API
+ * (or the local stand-in, or our own HTTP client pool) behaves under concurrent traffic.
+ * This replays getAllProducts, searchProduct, verifyLogin and getAllBrands, in a weighted
+ * round-robin mix, one virtual thread per request:
+ * - open model (default): requests start on a fixed schedule (-Dload.rate per second),
+ *   whether or not earlier ones have answered - like independent users arriving
+ * - closed model: -Dload.concurrency virtual users, each sending its next request when the
+ *   previous one answers, paced to -Dload.rate in total if given
+ * <p>
+ * Coordinated omission: a slow response delays the requests queued behind it, and timing
+ * each one from when it was actually sent hides that wait. Response time is therefore
+ * measured from each request's intended start on the schedule (HdrHistogram's correction);
+ * service time, from the actual send, is reported next to it. Without -Dload.rate the closed
+ * model has no schedule, so both are the same and the report says "uncorrected".
+ * <p>
+ * Every failure is counted by class (see ErrorClass). Warm-up requests are sent but not
+ * recorded. The report is printed and written to {metrics.dir}/api-load.json.
+ * <p>
+ * Configuration:
+ * - -Dload.model=open|closed       scheduling model (default: open)
+ * - -Dload.rate=N                  requests/s to start (default: 50; closed: none)
+ * - -Dload.concurrency=N           closed: virtual users (default: 8)
+ * - -Dload.maxInFlight=N           open: requests beyond this are rejected, not sent (default: 1000)
+ * - -Dload.seconds=N               measured duration (default: 30)
+ * - -Dload.warmup.seconds=N        unrecorded warm-up before it (default: 5)
+ * - -Dload.mix=op:weight,...       operations and weights (default: all four, weight 1)
+ * - -Dbase.url=...                 site to load; without it a LocalSite is started on a free port
+ * Raise -Dapi.pool.size (ApiClient) along with the rate, or requests queue for a connection
+ * (that wait counts as service time).
+ * <p>
+ * Run: java -cp target/test-classes:target/classes -Dload.rate=200 io.github.aslavchev.api.ApiLoadGenerator
+ */
+public final class ApiLoadGenerator {
+
+    private static final Path METRICS_DIR = Path.of(System.getProperty("metrics.dir", "target"));
+
+    /**
+     * The APIHelper calls that can be replayed
+     */
+    enum Operation {
+        GET_ALL_PRODUCTS("getAllProducts"),
+        SEARCH_PRODUCT("searchProduct"),
+        VERIFY_LOGIN("verifyLogin"),
+        GET_ALL_BRANDS("getAllBrands");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        static Operation of(String label) {
+            return Arrays.stream(values())
+                    .filter(operation -> operation.label.equalsIgnoreCase(label.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown load operation: " + label
+                            + " (expected getAllProducts, searchProduct, verifyLogin or getAllBrands)"));
+        }
+    }
+
+    /**
+     * Why a request failed
+     */
+    enum ErrorClass {
+        REJECTED,       // open model: over -Dload.maxInFlight, never sent
+        TIMEOUT,        // connect, pool lease or read timeout
+        CONNECTION,     // refused, reset or other I/O error
+        HTTP_STATUS,    // HTTP status other than 200
+        API_ERROR,      // HTTP 200 but a body responseCode other than 200
+        BAD_BODY,       // HTTP 200 but the body is not the expected JSON
+        OTHER;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // Per-operation results; the map is filled before the run and only read afterwards
+    private static final class Stats {
+        final LatencyHistogram response = new LatencyHistogram();
+        final LatencyHistogram service = new LatencyHistogram();
+        final LongAdder ok = new LongAdder();
+        final Map<ErrorClass, LongAdder> errors = new EnumMap<>(ErrorClass.class);
+
+        Stats() {
+            for (ErrorClass error : ErrorClass.values()) {
+                errors.put(error, new LongAdder());
+            }
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+
+    private final boolean open;
+    private final double rate;
+    private final int concurrency;
+    private final int maxInFlight;
+    private final int seconds;
+    private final int warmupSeconds;
+    private final Operation[] mix;
+    private final List<String> searchTerms;
+    private final List<Credentials> logins;
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // HttpClient 4 waits for a pooled connection inside a synchronized block, which pins a virtual
+    // thread to its carrier; requests wait here instead, unpinned, for one of the pool's connections
+    private final Semaphore connections = new Semaphore(ApiClient.poolSize(), true);
+
+    ApiLoadGenerator(boolean open, double rate, int concurrency, int maxInFlight, int seconds, int warmupSeconds,
+                     Operation[] mix, List<String> searchTerms, List<Credentials> logins) {
+        if (open && rate <= 0) {
+            throw new IllegalArgumentException("Open model needs -Dload.rate > 0");
+        }
+        this.open = open;
+        this.rate = rate;
+        this.concurrency = concurrency;
+        this.maxInFlight = maxInFlight;
+        this.seconds = seconds;
+        this.warmupSeconds = warmupSeconds;
+        this.mix = mix;
+        this.searchTerms = searchTerms;
+        this.logins = logins;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("api.log", "false"); // APIHelper would otherwise print every request
+        LocalSite site = System.getProperty("base.url") == null ? LocalSite.start(0) : null;
+        List<Credentials> logins;
+        if (site != null) {
+            System.setProperty("base.url", site.baseUrl());
+            logins = site.accountEmails().stream().map(email -> new Credentials(email, LocalSite.PASSWORD)).toList();
+        } else {
+            logins = List.of(CredentialPool.current()); // verifyLogin is stateless, one account serves every request
+        }
+        try {
+            String model = System.getProperty("load.model", "open");
+            boolean open = !"closed".equalsIgnoreCase(model);
+            ApiLoadGenerator generator = new ApiLoadGenerator(
+                    open,
+                    Double.parseDouble(System.getProperty("load.rate", open ? "50" : "0")),
+                    Integer.getInteger("load.concurrency", 8),
+                    Integer.getInteger("load.maxInFlight", 1_000),
+                    Integer.getInteger("load.seconds", 30),
+                    Integer.getInteger("load.warmup.seconds", 5),
+                    mix(System.getProperty("load.mix", "getAllProducts:1,searchProduct:1,verifyLogin:1,getAllBrands:1")),
+                    Arrays.stream(TestDataReader.readColumns("search-terms.csv", "searchTerm"))
+                            .map(row -> (String) row[0]).toList(),
+                    logins);
+            generator.run();
+            generator.report();
+        } finally {
+            if (site != null) {
+                site.stop();
+            } else {
+                CredentialPool.release();
+            }
+        }
+    }
+
+    /**
+     * Weighted round-robin sequence, e.g. "getAllProducts:2,verifyLogin:1" -> [products, login, products]
+     */
+    static Operation[] mix(String spec) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                weights.merge(Operation.of(parts[0]), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("-Dload.mix has no operation with a positive weight: " + spec);
+        }
+        // Spread each operation evenly instead of sending its whole share back to back
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        List<Operation> sequence = new ArrayList<>(total);
+        int[] sent = new int[Operation.values().length];
+        for (int slot = 1; slot <= total; slot++) {
+            Operation next = null;
+            double mostBehind = Double.NEGATIVE_INFINITY;
+            for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+                double behind = (double) slot * weight.getValue() / total - sent[weight.getKey().ordinal()];
+                if (behind > mostBehind) {
+                    mostBehind = behind;
+                    next = weight.getKey();
+                }
+            }
+            sent[next.ordinal()]++;
+            sequence.add(next);
+        }
+        return sequence.toArray(Operation[]::new);
+    }
+
+    // ==================== SCHEDULING ====================
+
+    void run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + seconds * 1_000_000_000L;
+        System.out.println("🚀 API load: " + describe() + " against " + SiteConfig.baseUrl()
+                + " - " + warmupSeconds + " s warm-up + " + seconds + " s");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (open) {
+                schedule(executor, start, measureFrom, end);
+            } else {
+                for (int user = 0; user < concurrency; user++) {
+                    int offset = user;
+                    executor.execute(() -> user(offset, start, measureFrom, end));
+                }
+            }
+        } // close() waits for every request still in flight
+    }
+
+    // Open model: the schedule alone decides when a request starts
+    private void schedule(ExecutorService executor, long start, long measureFrom, long end) {
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * 1_000_000_000.0 / rate);
+            if (intended >= end) {
+                return;
+            }
+            parkUntil(intended);
+            Operation operation = mix[(int) (i % mix.length)];
+            boolean measured = intended >= measureFrom;
+            if (!admit()) {
+                if (measured) {
+                    stats.get(operation).errors.get(ErrorClass.REJECTED).increment();
+                }
+                continue;
+            }
+            long index = i;
+            executor.execute(() -> {
+                try {
+                    send(operation, index, intended, measured);
+                } finally {
+                    done();
+                }
+            });
+        }
+    }
+
+    /**
+     * Open model: take an in-flight slot, or false if -Dload.maxInFlight are already out (REJECTED)
+     */
+    boolean admit() {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void done() {
+        inFlight.decrementAndGet();
+    }
+
+    // Closed model: one virtual user, paced to its share of -Dload.rate when set
+    private void user(int offset, long start, long measureFrom, long end) {
+        long interval = rate > 0 ? (long) (concurrency * 1_000_000_000.0 / rate) : 0;
+        long intended = start + (interval > 0 ? offset * interval / concurrency : 0);
+        for (long i = offset; ; i += concurrency) {
+            if (interval > 0) {
+                parkUntil(intended);
+            } else {
+                intended = System.nanoTime();
+            }
+            if (intended >= end) {
+                return;
+            }
+            send(mix[(int) (i % mix.length)], i, intended, intended >= measureFrom);
+            intended += interval;
+        }
+    }
+
+    private static void parkUntil(long nanoTime) {
+        for (long wait = nanoTime - System.nanoTime(); wait > 0; wait = nanoTime - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    // ==================== REQUESTS ====================
+
+    private void send(Operation operation, long index, long intended, boolean measured) {
+        long sent = System.nanoTime();
+        ErrorClass error;
+        connections.acquireUninterruptibly();
+        try {
+            Response response = call(operation, index);
+            error = check(response.getStatusCode(), response.asByteArray());
+        } catch (Exception e) {
+            error = classify(e);
+        } finally {
+            connections.release();
+        }
+        if (!measured) {
+            return;
+        }
+        long done = System.nanoTime();
+        Stats stats = this.stats.get(operation);
+        stats.response.recordNanos(done - intended);
+        stats.service.recordNanos(done - sent);
+        if (error == null) {
+            stats.ok.increment();
+        } else {
+            stats.errors.get(error).increment();
+        }
+    }
+
+    private Response call(Operation operation, long index) {
+        return switch (operation) {
+            case GET_ALL_PRODUCTS -> APIHelper.getAllProducts();
+            case SEARCH_PRODUCT -> APIHelper.searchProduct(searchTerms.get((int) (index % searchTerms.size())));
+            case VERIFY_LOGIN -> {
+                Credentials login = logins.get((int) (index % logins.size()));
+                yield APIHelper.verifyLogin(login.email(), login.password());
+            }
+            case GET_ALL_BRANDS -> APIHelper.getAllBrands();
+        };
+    }
+
+    /**
+     * @return null if the response is a success
+     */
+    static ErrorClass check(int statusCode, byte[] body) {
+        if (statusCode != 200) {
+            return ErrorClass.HTTP_STATUS;
+        }
+        try {
+            Outcome outcome = ApiJson.read(body, Outcome.class);
+            if (outcome == null || outcome.responseCode() == null) {
+                return ErrorClass.BAD_BODY; // JSON, but not an API reply
+            }
+            return outcome.responseCode() == 200 ? null : ErrorClass.API_ERROR;
+        } catch (IllegalStateException e) {
+            return ErrorClass.BAD_BODY;
+        }
+    }
+
+    // Every endpoint reports its outcome in responseCode; null when the body has none
+    record Outcome(Integer responseCode) {
+    }
+
+    static ErrorClass classify(Throwable error) {
+        boolean io = false;
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            // ConnectTimeoutException also covers ConnectionPoolTimeoutException (no free pooled connection)
+            if (cause instanceof SocketTimeoutException || cause instanceof ConnectTimeoutException) {
+                return ErrorClass.TIMEOUT;
+            }
+            io |= cause instanceof IOException;
+        }
+        return io ? ErrorClass.CONNECTION : ErrorClass.OTHER;
+    }
+
+    // ==================== REPORT ====================
+
+    private String describe() {
+        if (open) {
+            return String.format("open model, %.0f req/s, max %d in flight", rate, maxInFlight);
+        }
+        return "closed model, " + concurrency + " users" + (rate > 0 ? String.format(", paced to %.0f req/s", rate) : "");
+    }
+
+    void report() {
+        boolean corrected = open || rate > 0;
+        System.out.println(String.format("📊 %-16s %8s %8s %8s %9s %9s %9s %9s %9s", "operation", "req/s", "ok",
+                "errors", "svc p50", "svc p99", "resp p50", "resp p99", "resp max"));
+        LatencyHistogram allResponse = new LatencyHistogram();
+        LatencyHistogram allService = new LatencyHistogram();
+        Map<ErrorClass, Long> allErrors = new EnumMap<>(ErrorClass.class);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            if (s.response.count() == 0 && s.errorCount() == 0) {
+                continue;
+            }
+            allResponse.add(s.response);
+            allService.add(s.service);
+            Map<ErrorClass, Long> errors = new EnumMap<>(ErrorClass.class);
+            s.errors.forEach((error, count) -> errors.put(error, count.sum()));
+            errors.forEach((error, count) -> allErrors.merge(error, count, Long::sum));
+            print(entry.getKey().label, s.response, s.service, s.ok.sum(), s.errorCount());
+            operations.put(entry.getKey().label, toMap(s.response, s.service, s.ok.sum(), errorMap(errors)));
+        }
+        long okTotal = stats.values().stream().mapToLong(s -> s.ok.sum()).sum();
+        long errorTotal = allErrors.values().stream().mapToLong(Long::longValue).sum();
+        print("all", allResponse, allService, okTotal, errorTotal);
+        if (errorTotal > 0) {
+            System.out.println("   errors: " + errorMap(allErrors));
+        }
+        if (!corrected) {
+            System.out.println("   response time is uncorrected: closed model without -Dload.rate has no schedule");
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", SiteConfig.baseUrl());
+        report.put("model", open ? "open" : "closed");
+        report.put("targetRate", rate);
+        report.put("concurrency", open ? null : concurrency);
+        report.put("seconds", seconds);
+        report.put("coordinatedOmissionCorrected", corrected);
+        report.put("all", toMap(allResponse, allService, okTotal, errorMap(allErrors)));
+        report.put("operations", operations);
+        Path file = METRICS_DIR.resolve("api-load.json");
+        try {
+            Files.createDirectories(METRICS_DIR);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write API load report: " + file, e);
+        }
+        System.out.println("   report: " + file.toAbsolutePath());
+    }
+
+    private void print(String name, LatencyHistogram response, LatencyHistogram service, long ok, long errors) {
+        System.out.println(String.format("   %-16s %8.1f %8d %8d %9s %9s %9s %9s %9s", name,
+                (double) response.count() / seconds, ok, errors,
+                millis(service.percentileMicros(50)), millis(service.percentileMicros(99)),
+                millis(response.percentileMicros(50)), millis(response.percentileMicros(99)),
+                millis(response.maxMicros())));
+    }
+
+    private Map<String, Object> toMap(LatencyHistogram response, LatencyHistogram service, long ok,
+                                      Map<String, Long> errors) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("requestsPerSecond", Math.round(response.count() * 10.0 / seconds) / 10.0);
+        map.put("ok", ok);
+        map.put("errors", errors);
+        map.put("responseTime", response.toMap());
+        map.put("serviceTime", service.toMap());
+        map.put("responseP999Ms", response.percentileMicros(99.9) / 1000.0);
+        return map;
+    }
+
+    // Only the classes that occurred, e.g. {timeout=3, http_status=1}
+    private static Map<String, Long> errorMap(Map<ErrorClass, Long> errors) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        errors.forEach((error, count) -> {
+            if (count > 0) {
+                map.put(error.label(), count);
+            }
+        });
+        return map;
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+}
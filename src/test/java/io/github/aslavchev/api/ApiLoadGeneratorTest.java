@@ -0,0 +1,135 @@
+package io.github.aslavchev.api;
+
+import io.github.aslavchev.api.ApiLoadGenerator.ErrorClass;
+import io.github.aslavchev.api.ApiLoadGenerator.Operation;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.testng.annotations.Test;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.aslavchev.api.ApiLoadGenerator.Operation.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Unit tests for ApiLoadGenerator's request mix, admission and error classes (no requests sent)
+ */
+public class ApiLoadGeneratorTest {
+
+    @Test(groups = {"unit"})
+    public void weightedMixIsSpreadNotBunched() {
+        assertThat(ApiLoadGenerator.mix("getAllProducts:2,verifyLogin:1"),
+                is(new Operation[]{GET_ALL_PRODUCTS, VERIFY_LOGIN, GET_ALL_PRODUCTS}));
+        assertThat(ApiLoadGenerator.mix("getAllProducts:1,searchProduct:1,verifyLogin:1,getAllBrands:1"),
+                is(new Operation[]{GET_ALL_PRODUCTS, SEARCH_PRODUCT, VERIFY_LOGIN, GET_ALL_BRANDS}));
+    }
+
+    @Test(groups = {"unit"})
+    public void mixSendsEachOperationItsShare() {
+        Operation[] mix = ApiLoadGenerator.mix("searchProduct:5, getAllBrands:3 ,verifyLogin:2");
+
+        assertThat(mix.length, is(10));
+        assertThat(count(mix, SEARCH_PRODUCT), is(5L));
+        assertThat(count(mix, GET_ALL_BRANDS), is(3L));
+        assertThat(count(mix, VERIFY_LOGIN), is(2L));
+        assertThat("Each slot goes to the operation furthest behind its share", mix, is(new Operation[]{
+                SEARCH_PRODUCT, GET_ALL_BRANDS, VERIFY_LOGIN, SEARCH_PRODUCT, SEARCH_PRODUCT,
+                GET_ALL_BRANDS, SEARCH_PRODUCT, VERIFY_LOGIN, GET_ALL_BRANDS, SEARCH_PRODUCT}));
+    }
+
+    @Test(groups = {"unit"})
+    public void mixNamesAreCaseInsensitiveAndRepeatsMerge() {
+        assertThat(ApiLoadGenerator.mix("GETALLBRANDS, getAllBrands:2, verifyLogin:0"),
+                is(new Operation[]{GET_ALL_BRANDS, GET_ALL_BRANDS, GET_ALL_BRANDS}));
+    }
+
+    @Test(groups = {"unit"})
+    public void invalidMixIsRejected() {
+        IllegalArgumentException unknown = expectThrows(IllegalArgumentException.class,
+                () -> ApiLoadGenerator.mix("getAllProducts:1,deleteAccount:1"));
+        assertThat(unknown.getMessage(), containsString("Unknown load operation: deleteAccount"));
+
+        IllegalArgumentException empty = expectThrows(IllegalArgumentException.class,
+                () -> ApiLoadGenerator.mix("getAllProducts:0"));
+        assertThat(empty.getMessage(), containsString("no operation with a positive weight"));
+    }
+
+    @Test(groups = {"unit"})
+    public void requestsOverMaxInFlightAreRejected() {
+        ApiLoadGenerator generator = new ApiLoadGenerator(true, 10, 1, 2, 1, 0,
+                ApiLoadGenerator.mix("getAllBrands"), List.of(), List.of());
+
+        assertThat(generator.admit(), is(true));
+        assertThat(generator.admit(), is(true));
+        assertThat("Third concurrent request is REJECTED", generator.admit(), is(false));
+        generator.done();
+        assertThat("A finished request frees its slot", generator.admit(), is(true));
+    }
+
+    @Test(groups = {"unit"})
+    public void timeoutsAreClassifiedAnywhereInTheChain() {
+        assertThat(ApiLoadGenerator.classify(new SocketTimeoutException("Read timed out")), is(ErrorClass.TIMEOUT));
+        assertThat(ApiLoadGenerator.classify(new ConnectTimeoutException("Connect timed out")), is(ErrorClass.TIMEOUT));
+        assertThat("No free pooled connection",
+                ApiLoadGenerator.classify(new ConnectionPoolTimeoutException("Timeout waiting")), is(ErrorClass.TIMEOUT));
+        assertThat(ApiLoadGenerator.classify(new RuntimeException(new UncheckedIOException(
+                new SocketTimeoutException("Read timed out")))), is(ErrorClass.TIMEOUT));
+    }
+
+    @Test(groups = {"unit"})
+    public void otherIoErrorsAreConnectionErrors() {
+        assertThat(ApiLoadGenerator.classify(new ConnectException("Connection refused")), is(ErrorClass.CONNECTION));
+        assertThat(ApiLoadGenerator.classify(new UncheckedIOException(new SocketException("Connection reset"))),
+                is(ErrorClass.CONNECTION));
+    }
+
+    @Test(groups = {"unit"})
+    public void nonIoFailuresAreOther() {
+        assertThat(ApiLoadGenerator.classify(new IllegalArgumentException("bad term")), is(ErrorClass.OTHER));
+        assertThat(ApiLoadGenerator.classify(new NullPointerException()), is(ErrorClass.OTHER));
+    }
+
+    @Test(groups = {"unit"})
+    public void responsesAreCheckedByStatusThenBody() {
+        assertThat("Success", ApiLoadGenerator.check(200, json("{\"responseCode\": 200, \"products\": []}")),
+                is(nullValue()));
+        assertThat(ApiLoadGenerator.check(500, json("{\"responseCode\": 200}")), is(ErrorClass.HTTP_STATUS));
+        assertThat(ApiLoadGenerator.check(404, json("<html>Not found</html>")), is(ErrorClass.HTTP_STATUS));
+        assertThat(ApiLoadGenerator.check(200, json("{\"responseCode\": 404, \"message\": \"User not found!\"}")),
+                is(ErrorClass.API_ERROR));
+        assertThat(ApiLoadGenerator.check(200, json("{\"responseCode\": 405, \"message\": \"not supported\"}")),
+                is(ErrorClass.API_ERROR));
+    }
+
+    @Test(groups = {"unit"})
+    public void bodiesThatAreNotApiRepliesAreBadBody() {
+        assertThat(ApiLoadGenerator.check(200, json("<html><body>Maintenance</body></html>")), is(ErrorClass.BAD_BODY));
+        assertThat(ApiLoadGenerator.check(200, json("")), is(ErrorClass.BAD_BODY));
+        assertThat(ApiLoadGenerator.check(200, json("{\"responseCode\": 200")), is(ErrorClass.BAD_BODY));
+        assertThat(ApiLoadGenerator.check(200, json("[1, 2]")), is(ErrorClass.BAD_BODY));
+        assertThat(ApiLoadGenerator.check(200, json("null")), is(ErrorClass.BAD_BODY));
+        assertThat("No responseCode", ApiLoadGenerator.check(200, json("{\"products\": []}")), is(ErrorClass.BAD_BODY));
+    }
+
+    @Test(groups = {"unit"})
+    public void errorLabelsMatchTheReport() {
+        assertThat(Arrays.stream(ErrorClass.values()).map(ErrorClass::label).toList(),
+                contains("rejected", "timeout", "connection", "http_status", "api_error", "bad_body", "other"));
+    }
+
+    private static long count(Operation[] mix, Operation operation) {
+        return Arrays.stream(mix).filter(op -> op == operation).count();
+    }
+
+    private static byte[] json(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
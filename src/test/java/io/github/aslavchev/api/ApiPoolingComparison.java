@@ -0,0 +1,95 @@
+package io.github.aslavchev.api;
+
+import io.github.aslavchev.metrics.LatencyHistogram;
+import io.github.aslavchev.stub.LocalSite;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ApiPoolingComparison - API requests/sec with and without the pooled ApiClient connection manager
+ * <p>
+ * Starts LocalSite on a free port and hammers /api/productsList and /api/searchProduct from N
+ * threads (the way parallel API tests call it), once per HTTP client config:
+ * - per-request client: REST Assured's default - a new HttpClient and TCP connection per call
+ * - pooled:             ApiClient's shared keep-alive pool
+ * Loopback has no network latency and no TLS, so this measures the connection setup cost only;
+ * against the live HTTPS site each avoided handshake saves a network round trip or two more.
+ * <p>
+ * Run: java -cp target/test-classes:target/classes io.github.aslavchev.api.ApiPoolingComparison [threads] [seconds]
+ * Results are recorded in docs/performance/benchmarks.md.
+ */
+public final class ApiPoolingComparison {
+
+    private ApiPoolingComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        LocalSite site = LocalSite.start(0);
+        try {
+            // Warm-up so class loading and JIT do not land on whichever config runs first
+            run(site, false, threads, 2);
+            run(site, true, threads, 2);
+
+            System.out.println("📊 API pooling comparison - " + threads + " threads x " + seconds + " s against " + site.baseUrl());
+            System.out.println(String.format("   %-20s %10s %10s %10s %10s", "client", "req/s", "p50 ms", "p99 ms", "errors"));
+            print("per-request client", run(site, false, threads, seconds), seconds);
+            print("pooled", run(site, true, threads, seconds), seconds);
+            System.out.println("   pool after run: " + ApiClient.poolStats());
+        } finally {
+            site.stop();
+        }
+    }
+
+    private record Result(LatencyHistogram latency, long errors) {
+    }
+
+    private static Result run(LocalSite site, boolean pooled, int threads, int seconds) throws Exception {
+        RequestSpecification spec = ApiClient.spec(site.baseUrl(), pooled);
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        long start = System.nanoTime();
+                        int status = i % 2 == 0
+                                ? RestAssured.given().spec(spec).get("/productsList").getStatusCode()
+                                : RestAssured.given().spec(spec).formParam("search_product", "top")
+                                        .post("/searchProduct").getStatusCode();
+                        latency.recordNanos(System.nanoTime() - start);
+                        if (status != 200) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new Result(latency, errors.sum());
+    }
+
+    private static void print(String name, Result result, int seconds) {
+        Map<String, Object> stats = result.latency().toMap();
+        System.out.println(String.format("   %-20s %10d %10s %10s %10d", name,
+                (long) stats.get("count") / seconds, stats.get("p50Ms"), stats.get("p99Ms"), result.errors()));
+    }
+}
@@ -1,13 +1,12 @@
 package io.github.aslavchev.api;
 
+import io.github.aslavchev.api.model.LoginResponse;
 import io.github.aslavchev.utils.TestConfig;
 import io.qameta.allure.Description;
 import io.restassured.response.Response;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import static io.restassured.RestAssured.*;
-import static io.restassured.path.json.JsonPath.from;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -28,14 +27,14 @@ public class AuthAPITests extends BaseAPITest {
         // Act
         Response response = APIHelper.verifyLogin(email, password);
 
-        String responseBody = response.getBody().asString();
+        LoginResponse body = LoginResponse.from(response);
 
         // Assert
         assertThat("Status code", response.getStatusCode(), is(200));
-        assertThat("Response code is 200", from(responseBody).getInt("responseCode"), is(200));
-        assertThat("Success message exists", from(responseBody).getString("message"), is(notNullValue()));
+        assertThat("Response code is 200", body.responseCode(), is(200));
+        assertThat("Success message exists", body.message(), is(notNullValue()));
         assertThat("Success message confirms user exists",
-            from(responseBody).getString("message"),
+            body.message(),
             containsString("User exists!"));
 
         System.out.println("✅ Login verification successful for valid credentials");
@@ -51,14 +50,14 @@ public class AuthAPITests extends BaseAPITest {
         // Act
         Response response = APIHelper.verifyLogin(invalidEmail,invalidPassword);
 
-        String responseBody = response.getBody().asString();
+        LoginResponse body = LoginResponse.from(response);
 
         // Assert
         assertThat("Status code", response.getStatusCode(), is(200));
-        assertThat("Response code is 404", from(responseBody).getInt("responseCode"), is(404));
-        assertThat("Error message exists", from(responseBody).getString("message"), is(notNullValue()));
+        assertThat("Response code is 404", body.responseCode(), is(404));
+        assertThat("Error message exists", body.message(), is(notNullValue()));
         assertThat("Error message indicates user not found",
-            from(responseBody).getString("message"),
+            body.message(),
             containsString("User not found!"));
 
         System.out.println("✅ API correctly handles invalid credentials");
@@ -72,20 +71,20 @@ public class AuthAPITests extends BaseAPITest {
 
         // Act
         Response response =
-            given()
+            ApiClient.given()
                 .log().all()
                 .formParam("password", password)
             .when()
                 .post("/verifyLogin");
 
-        String responseBody = response.getBody().asString();
+        LoginResponse body = LoginResponse.from(response);
 
         // Assert
         assertThat("Status code", response.getStatusCode(), is(200));
-        assertThat("Response code is 400", from(responseBody).getInt("responseCode"), is(400));
-        assertThat("Error message exists", from(responseBody).getString("message"), is(notNullValue()));
+        assertThat("Response code is 400", body.responseCode(), is(400));
+        assertThat("Error message exists", body.message(), is(notNullValue()));
         assertThat("Error message mentions missing parameter",
-            from(responseBody).getString("message"),
+            body.message(),
             containsString("email or password parameter is missing"));
 
         System.out.println("✅ API correctly validates missing email parameter");
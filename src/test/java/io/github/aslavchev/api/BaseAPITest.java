@@ -1,20 +1,27 @@
 package io.github.aslavchev.api;
 
+import io.github.aslavchev.utils.CredentialPool;
 import io.restassured.RestAssured;
 import io.restassured.parsing.Parser;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
 
 /**
  * Base class for all API tests using REST Assured.
- * Configures base URI, path, and default JSON parser.
+ * Requests go through ApiClient (base URI, /api path, pooled connections);
+ * this only sets the default JSON parser.
+ * Returns any test account leased via TestConfig after each test.
  */
 public class BaseAPITest {
 
     @BeforeClass
     public void setup() {
-        RestAssured.baseURI = "https://automationexercise.com";
-        RestAssured.basePath = "/api";
         // Force REST Assured to parse text/html responses as JSON
         RestAssured.defaultParser = Parser.JSON;
     }
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseTestAccount() {
+        CredentialPool.release();
+    }
 }
@@ -0,0 +1,158 @@
+package io.github.aslavchev.api;
+
+import io.github.aslavchev.data.ProductDataProvider;
+import io.github.aslavchev.metrics.RunMetrics;
+import io.github.aslavchev.ui.pages.CartPage;
+import io.github.aslavchev.ui.pages.ProductsPage;
+import io.restassured.response.Response;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Seeds the shopping cart over HTTP, sharing the browser's session cookie.
+ * <p>
+ * Why: UI tests that assert on the cart or checkout don't need to exercise the
+ * products page (ads, hover overlays, JS clicks) just to get items into the cart.
+ * The site's own "Add to cart" button calls GET /add_to_cart/{id} - we call the
+ * same endpoint directly with the browser's sessionid, so the cart the browser
+ * sees is exactly the one we built.
+ * <p>
+ * Usage:
+ * <pre>
+ * CartSeeder.forBrowserSession(driver())
+ *         .add("Blue Top")
+ *         .add("Men Tshirt", 2)
+ *         .seed();
+ * </pre>
+ * Tests go through {@link #openCartWith(WebDriver, String...)}: -Dcart.setup=ui switches it back
+ * to the UI path for timing comparison (RunMetrics timers "cart.setup.api" vs "cart.setup.ui",
+ * both ending with the cart page loaded).
+ */
+public class CartSeeder {
+
+    private static final String SESSION_COOKIE = "sessionid";
+
+    private final WebDriver driver;
+    private final List<String> products = new ArrayList<>();
+
+    private CartSeeder(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Whether tests should seed the cart over HTTP (-Dcart.setup=api, default) or via the UI
+     */
+    public static boolean isEnabled() {
+        return !"ui".equalsIgnoreCase(System.getProperty("cart.setup", "api"));
+    }
+
+    /**
+     * Put the products into the cart and open the cart page, over HTTP (default) or via the
+     * products page (-Dcart.setup=ui). Timed as cart.setup.api / cart.setup.ui until the cart
+     * table is rendered, so both timers cover the same work.
+     *
+     * @param driver       Driver whose session owns the cart; must already be on the site's domain
+     * @param productNames One unit of each, as listed in products.csv
+     */
+    public static CartPage openCartWith(WebDriver driver, String... productNames) {
+        boolean overApi = isEnabled();
+        long start = System.currentTimeMillis();
+        CartPage cartPage;
+        if (overApi) {
+            CartSeeder seeder = forBrowserSession(driver);
+            for (String productName : productNames) {
+                seeder.add(productName);
+            }
+            seeder.seed();
+            cartPage = new CartPage(driver);
+            cartPage.navigateToCart();
+        } else {
+            ProductsPage productsPage = new ProductsPage(driver);
+            productsPage.navigateProducts();
+            for (int i = 0; i < productNames.length; i++) {
+                if (i > 0) {
+                    productsPage.clickContinueShopping();
+                }
+                productsPage.addProductToCartByName(productNames[i]);
+            }
+            cartPage = productsPage.clickViewCart();
+        }
+        cartPage.waitUntilLoaded();
+        RunMetrics.recordTime(overApi ? "cart.setup.api" : "cart.setup.ui", System.currentTimeMillis() - start);
+        return cartPage;
+    }
+
+    /**
+     * Start seeding the cart of the session currently open in this browser
+     *
+     * @param driver Driver whose cookies identify the cart
+     */
+    public static CartSeeder forBrowserSession(WebDriver driver) {
+        return new CartSeeder(driver);
+    }
+
+    /**
+     * Add one unit of a catalog product
+     *
+     * @param productName Name as listed in products.csv
+     */
+    public CartSeeder add(String productName) {
+        return add(productName, 1);
+    }
+
+    /**
+     * Add several units of a catalog product
+     *
+     * @param productName Name as listed in products.csv
+     * @param quantity    Units to add
+     */
+    public CartSeeder add(String productName, int quantity) {
+        for (int i = 0; i < quantity; i++) {
+            products.add(productName);
+        }
+        return this;
+    }
+
+    /**
+     * Send the add-to-cart requests. The browser must already be on the site's domain.
+     */
+    public void seed() {
+        Map<String, String> cookies = browserCookies();
+
+        for (String productName : products) {
+            Response response = ApiClient.given()
+                        .basePath("")
+                        .cookies(cookies)
+                        .header("X-Requested-With", "XMLHttpRequest")
+                    .when()
+                        .get("/add_to_cart/" + ProductDataProvider.getProductId(productName));
+
+            if (response.getStatusCode() != 200) {
+                throw new IllegalStateException("Failed to seed '" + productName + "' into cart: HTTP "
+                        + response.getStatusCode());
+            }
+
+            // Guest visitors get their session on first add - hand it to the browser
+            String issuedSession = response.getCookie(SESSION_COOKIE);
+            if (issuedSession != null && !issuedSession.equals(cookies.get(SESSION_COOKIE))) {
+                cookies.put(SESSION_COOKIE, issuedSession);
+                driver.manage().deleteCookieNamed(SESSION_COOKIE);
+                driver.manage().addCookie(new Cookie(SESSION_COOKIE, issuedSession, "/"));
+            }
+        }
+    }
+
+    private Map<String, String> browserCookies() {
+        Map<String, String> cookies = new HashMap<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            cookies.put(cookie.getName(), cookie.getValue());
+        }
+        return cookies;
+    }
+}
@@ -1,11 +1,13 @@
 package io.github.aslavchev.api;
 
+import io.github.aslavchev.api.model.BrandsListResponse;
+import io.github.aslavchev.api.model.ProductsListResponse;
+import io.github.aslavchev.api.model.ProductsListValidator;
 import io.qameta.allure.Description;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
 
 import static io.restassured.RestAssured.*;
-import static io.restassured.path.json.JsonPath.from;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -23,16 +25,34 @@ public class ProductAPITests extends BaseAPITest {
         // Act
         Response response = APIHelper.getAllProducts();
 
-        // Extract JSON from HTML body
-        String responseBody = response.getBody().asString();
+        // Parse the JSON body once (the site serves it as text/html)
+        ProductsListResponse body = ProductsListResponse.from(response);
 
         // Assert
         assertThat("Status code", response.getStatusCode(), is(200));
-        assertThat("Response code is 200", from(responseBody).getInt("responseCode"), is(200));
-        assertThat("Products exist", from(responseBody).getList("products"), is(notNullValue()));
-        assertThat("Products not empty", from(responseBody).getList("products").size(), greaterThan(0));
+        assertThat("Response code is 200", body.responseCode(), is(200));
+        assertThat("Products exist", body.products(), is(notNullValue()));
+        assertThat("Products not empty", body.products().size(), greaterThan(0));
 
-        System.out.println("✅ API returned " + from(responseBody).getList("products").size() + " products");
+        System.out.println("✅ API returned " + body.products().size() + " products");
+    }
+
+    @Test(groups = {"api", "regression"})
+    @Description("API-1: All products match the catalog contract")
+    public void getAllProductsMatchCatalogContract() {
+        // Act
+        Response response = APIHelper.streamAllProducts();
+
+        // Stream the body off the connection instead of building it as a tree - works for catalogs of any size
+        ProductsListValidator.Result result = ProductsListValidator.validate(response);
+
+        // Assert
+        assertThat("Status code", response.getStatusCode(), is(200));
+        assertThat("Response code is 200", result.responseCode(), is(200));
+        assertThat("Products not empty", result.products(), greaterThan(0));
+        assertThat("Every product has id, name, price, brand and category: " + result, result.valid(), is(true));
+
+        System.out.println("✅ All " + result.products() + " products match the catalog contract");
     }
 
     @Test(groups = {"api", "regression"})
@@ -43,15 +63,15 @@ public class ProductAPITests extends BaseAPITest {
         // Act
         Response response = APIHelper.getAllBrands();
 
-        // Extract JSON from HTML body
-        String responseBody = response.getBody().asString();
+        // Parse the JSON body once (the site serves it as text/html)
+        BrandsListResponse body = BrandsListResponse.from(response);
 
         // Assert
         assertThat("Status code", response.getStatusCode(), is(200));
-        assertThat("Response code is 200", from(responseBody).getInt("responseCode"), is(200));
-        assertThat("Brands exist", from(responseBody).getList("brands"), is(notNullValue()));
-        assertThat("Brands not empty", from(responseBody).getList("brands").size(), greaterThan(0));
+        assertThat("Response code is 200", body.responseCode(), is(200));
+        assertThat("Brands exist", body.brands(), is(notNullValue()));
+        assertThat("Brands not empty", body.brands().size(), greaterThan(0));
 
-        System.out.println("✅ API returned " + from(responseBody).getList("brands").size() + " brands");
+        System.out.println("✅ API returned " + body.brands().size() + " brands");
     }
 }
@@ -0,0 +1,99 @@
+package io.github.aslavchev.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.aslavchev.api.model.ApiJson;
+import io.github.aslavchev.api.model.ApiProduct;
+import io.github.aslavchev.api.model.ProductsListResponse;
+import io.github.aslavchev.api.model.ProductsListValidator;
+import io.github.aslavchev.metrics.Bench;
+import io.github.aslavchev.stub.LocalSite;
+import io.restassured.RestAssured;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ProductsListValidationComparison - Contract check of large /api/productsList bodies: record tree vs streaming
+ * <p>
+ * Builds bodies of 1k, 10k and 100k products (the stand-in catalog's products repeated with
+ * new ids), then checks that every product has id, name, price, brand and category:
+ * - Tree:      ProductsListResponse read in full, then each ApiProduct checked
+ * - Streaming: ProductsListValidator over the same bytes
+ * Per variant it reports time per check, bytes allocated per check (com.sun.management.ThreadMXBean)
+ * and the heap still reachable from the result after a GC - what the check holds at its peak.
+ * <p>
+ * Run: java -cp target/test-classes:target/classes io.github.aslavchev.api.ProductsListValidationComparison [iterations]
+ * Results are recorded in docs/performance/benchmarks.md.
+ */
+public final class ProductsListValidationComparison {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private ProductsListValidationComparison() {
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        System.out.println("📊 productsList contract check - tree vs streaming, " + iterations + " checks per size");
+        System.out.println(String.format("   %-10s %9s %-10s %10s %14s %12s",
+                "products", "MB body", "check", "ms / check", "MB alloc/check", "MB retained"));
+        LocalSite site = LocalSite.start(0);
+        List<ApiProduct> catalog;
+        try {
+            catalog = ProductsListResponse.from(
+                    RestAssured.given().spec(ApiClient.spec(site.baseUrl(), true)).get("/productsList")).products();
+        } finally {
+            site.stop();
+        }
+        for (int size : SIZES) {
+            byte[] body = body(catalog, size);
+            measure(size, body, "tree", iterations, ProductsListValidationComparison::tree);
+            measure(size, body, "streaming", iterations, ProductsListValidator::validate);
+        }
+    }
+
+    private static void measure(int size, byte[] body, String name, int iterations, Function<byte[], Object> check) {
+        Bench.Result perCheck = Bench.measure(iterations, iterations, () -> Bench.consume(check.apply(body)));
+
+        long baseline = Bench.usedAfterGc();
+        Object held = check.apply(body);
+        double retainedMb = Math.max(0, Bench.usedAfterGc() - baseline) / 1048576.0;
+        Bench.consume(held);
+
+        System.out.println(String.format("   %-10d %9.1f %-10s %10.1f %14.1f %12.1f",
+                size, body.length / 1048576.0, name, perCheck.millisPerOp(), perCheck.mbPerOp(), retainedMb));
+    }
+
+    // What a list-based check keeps: the whole response, products and all
+    private static ProductsListResponse tree(byte[] body) {
+        ProductsListResponse response = ApiJson.read(body, ProductsListResponse.class);
+        for (ApiProduct product : response.products()) {
+            if (product.id() == null || product.name() == null || product.price() == null
+                    || product.brand() == null || product.category() == null) {
+                throw new IllegalStateException("Invalid product " + product);
+            }
+        }
+        return response;
+    }
+
+    // The stand-in catalog repeated to the given size, each copy with its own id
+    private static byte[] body(List<ApiProduct> catalog, int size) {
+        ObjectNode body = JSON.createObjectNode().put("responseCode", 200);
+        ArrayNode products = body.putArray("products");
+        for (int i = 0; i < size; i++) {
+            ObjectNode product = JSON.valueToTree(catalog.get(i % catalog.size()));
+            products.add(product.put("id", i + 1));
+        }
+        try {
+            return JSON.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
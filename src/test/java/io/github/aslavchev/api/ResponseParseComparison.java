@@ -0,0 +1,80 @@
+package io.github.aslavchev.api;
+
+import io.github.aslavchev.api.model.ApiJson;
+import io.github.aslavchev.api.model.ProductsListResponse;
+import io.github.aslavchev.metrics.Bench;
+import io.github.aslavchev.stub.LocalSite;
+import io.restassured.RestAssured;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static io.restassured.path.json.JsonPath.from;
+
+/**
+ * ResponseParseComparison - Parse cost of one API test's assertions: JsonPath per assertion vs one Jackson read
+ * <p>
+ * Fetches the /api/productsList body from LocalSite once, then runs the assertion block of
+ * ProductAPITests.getAllProductsReturnsNonEmptyList / SearchAPITests on it:
+ * - JsonPath:  body as String, then JsonPath.from(body) for each of the 6 lookups (the old tests)
+ * - Jackson:   ProductsListResponse read once, then record accessors
+ * Each variant is warmed up, then timed over many iterations; allocation is the bytes the
+ * thread allocated per test (com.sun.management.ThreadMXBean).
+ * <p>
+ * Run: java -cp target/test-classes:target/classes io.github.aslavchev.api.ResponseParseComparison [iterations]
+ * Results are recorded in docs/performance/benchmarks.md.
+ */
+public final class ResponseParseComparison {
+
+    private static final int LOOKUPS_PER_TEST = 6;
+
+    private ResponseParseComparison() {
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        LocalSite site = LocalSite.start(0);
+        byte[] body;
+        try {
+            body = RestAssured.given().spec(ApiClient.spec(site.baseUrl(), true)).get("/productsList").asByteArray();
+        } finally {
+            site.stop();
+        }
+
+        System.out.println("📊 Response parse comparison - /api/productsList (" + body.length + " bytes), "
+                + iterations + " tests");
+        System.out.println(String.format("   %-28s %12s %14s %16s", "parser", "µs / test", "µs / assertion", "KB alloc / test"));
+        measure("JsonPath per assertion", body, iterations, ResponseParseComparison::jsonPathPerAssertion);
+        measure("Jackson record, once", body, iterations, ResponseParseComparison::jacksonOnce);
+    }
+
+    private static void measure(String name, byte[] body, int iterations, Consumer<byte[]> test) {
+        Bench.Result perTest = Bench.measure(iterations / 2, iterations, () -> test.accept(body));
+        System.out.println(String.format("   %-28s %12.1f %14.1f %16.1f",
+                name, perTest.microsPerOp(), perTest.microsPerOp() / LOOKUPS_PER_TEST, perTest.kbPerOp()));
+    }
+
+    // Former assertion block: every lookup re-parses the body
+    private static void jsonPathPerAssertion(byte[] bytes) {
+        String responseBody = new String(bytes, StandardCharsets.UTF_8);
+        Bench.consume(from(responseBody).getInt("responseCode"));
+        Bench.consume(from(responseBody).getList("products") == null ? 0 : 1);
+        Bench.consume(from(responseBody).getList("products").size());
+        from(responseBody).getList("products", Map.class).forEach(product ->
+                Bench.consume(product.get("name").hashCode() + product.get("id").hashCode() + product.get("price").hashCode()));
+        Bench.consume(from(responseBody).getList("products").size());
+        Bench.consume(from(responseBody).getList("products").size());
+    }
+
+    private static void jacksonOnce(byte[] bytes) {
+        ProductsListResponse body = ApiJson.read(bytes, ProductsListResponse.class);
+        Bench.consume(body.responseCode());
+        Bench.consume(body.products() == null ? 0 : 1);
+        Bench.consume(body.products().size());
+        body.products().forEach(product ->
+                Bench.consume(product.name().hashCode() + product.id().hashCode() + product.price().hashCode()));
+        Bench.consume(body.products().size());
+        Bench.consume(body.products().size());
+    }
+}
@@ -1,13 +1,14 @@
 package io.github.aslavchev.api;
 
+import io.github.aslavchev.api.model.SearchResponse;
 import io.github.aslavchev.utils.TestDataReader;
 import io.qameta.allure.Description;
 import org.testng.annotations.DataProvider;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
+import java.util.Iterator;
 import java.util.Map;
 
-import static io.restassured.path.json.JsonPath.from;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -26,22 +27,22 @@ public class SearchAPITests extends BaseAPITest {
         // Act
         Response response = APIHelper.searchProduct(searchTerm);
 
-        String responseBody = response.getBody().asString();
+        SearchResponse body = SearchResponse.from(response);
 
         // Assert
         assertThat("Status code", response.getStatusCode(), is(200));
-        assertThat("Response code is 200", from(responseBody).getInt("responseCode"), is(200));
-        assertThat("Products exist", from(responseBody).getList("products"), is(notNullValue()));
-        assertThat("Products not empty", from(responseBody).getList("products").size(), greaterThan(0));
+        assertThat("Response code is 200", body.responseCode(), is(200));
+        assertThat("Products exist", body.products(), is(notNullValue()));
+        assertThat("Products not empty", body.products().size(), greaterThan(0));
 
         // Verify all returned products have required fields
-        from(responseBody).getList("products", Map.class).forEach(product -> {
-            assertThat("Product has name", product.get("name"), is(notNullValue()));
-            assertThat("Product has id", product.get("id"), is(notNullValue()));
-            assertThat("Product has price", product.get("price"), is(notNullValue()));
+        body.products().forEach(product -> {
+            assertThat("Product has name", product.name(), is(notNullValue()));
+            assertThat("Product has id", product.id(), is(notNullValue()));
+            assertThat("Product has price", product.price(), is(notNullValue()));
         });
 
-        System.out.println("✅ Search returned " + from(responseBody).getList("products").size() + " matching products");
+        System.out.println("✅ Search returned " + body.products().size() + " matching products");
     }
 
     @Test(groups = {"api", "regression"})
@@ -52,22 +53,22 @@ public class SearchAPITests extends BaseAPITest {
         // Act
         Response response = APIHelper.searchProductNoParams();
 
-        String responseBody = response.getBody().asString();
+        SearchResponse body = SearchResponse.from(response);
 
         // Assert
         assertThat("Status code", response.getStatusCode(), is(200));
-        assertThat("Response code is 400", from(responseBody).getInt("responseCode"), is(400));
-        assertThat("Error message exists", from(responseBody).getString("message"), is(notNullValue()));
+        assertThat("Response code is 400", body.responseCode(), is(400));
+        assertThat("Error message exists", body.message(), is(notNullValue()));
         assertThat("Error message mentions missing parameter",
-                from(responseBody).getString("message"),
+                body.message(),
                 containsString("search_product parameter is missing"));
 
         System.out.println("✅ API correctly validates missing search_product parameter");
     }
 
     @DataProvider(name = "searchTerms")
-    public Object[][] getSearchTerms() {
-        return TestDataReader.readSimpleTestData("search-terms.csv");
+    public Iterator<Object[]> getSearchTerms() {
+        return TestDataReader.streamSimpleTestData("search-terms.csv");
     }
 
     @Test(dataProvider = "searchTerms", groups = {"api", "regression"})
@@ -78,15 +79,15 @@ public class SearchAPITests extends BaseAPITest {
 
         // Act
         Response response = APIHelper.searchProduct(searchTerm);
-        String responseBody = response.getBody().asString();
+        SearchResponse body = SearchResponse.from(response);
 
         // Assert
         assertThat("Status code", response.getStatusCode(), is(200));
-        assertThat("Response code is 200", from(responseBody).getInt("responseCode"), is(200));
-        assertThat("Products exist", from(responseBody).getList("products"), is(notNullValue()));
-        assertThat("Products not empty", from(responseBody).getList("products").size(), greaterThan(0));
+        assertThat("Response code is 200", body.responseCode(), is(200));
+        assertThat("Products exist", body.products(), is(notNullValue()));
+        assertThat("Products not empty", body.products().size(), greaterThan(0));
 
         System.out.println("✅ Search for '" + searchTerm + "' returned " +
-                from(responseBody).getList("products").size() + " products");
+                body.products().size() + " products");
     }
 }
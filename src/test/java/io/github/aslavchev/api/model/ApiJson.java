@@ -0,0 +1,51 @@
+package io.github.aslavchev.api.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+
+/**
+ * ApiJson - Deserializes an API response body into a typed record, once
+ * <p>
+ * Why: tests called JsonPath.from(body) for every assertion, re-parsing the same document
+ * 4-6 times per test (Groovy JsonSlurper plus a GPath evaluation each time). Reading the body
+ * once into a record makes each assertion a field access.
+ * <p>
+ * The site labels its JSON as text/html, so the body bytes are handed to Jackson directly
+ * instead of going through REST Assured's content-type based parser. Unknown fields are
+ * ignored, so the site adding a field does not break the tests.
+ */
+public final class ApiJson {
+
+    private static final int MAX_BODY_IN_ERROR = 300;
+
+    // Thread-safe once configured; shared so deserializers for each record are built once
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private ApiJson() {
+    }
+
+    /**
+     * Read the response body as the given record type
+     *
+     * @throws IllegalStateException if the body is not JSON of that shape (message includes the body start)
+     */
+    public static <T> T read(Response response, Class<T> type) {
+        return read(response.asByteArray(), type);
+    }
+
+    /**
+     * Read a raw JSON body as the given record type
+     */
+    public static <T> T read(byte[] body, Class<T> type) {
+        try {
+            return JSON.readValue(body, type);
+        } catch (IOException e) {
+            String text = new String(body, 0, Math.min(body.length, MAX_BODY_IN_ERROR));
+            throw new IllegalStateException("Response is not a " + type.getSimpleName() + ": " + text, e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.aslavchev.api.model;
+
+/**
+ * One product as returned by /api/productsList and /api/searchProduct
+ * e.g. {"id": 1, "name": "Blue Top", "price": "Rs. 500", "brand": "Polo",
+ * "category": {"usertype": {"usertype": "Women"}, "category": "Tops"}}
+ */
+public record ApiProduct(Integer id, String name, String price, String brand, Category category) {
+
+    public record Category(Usertype usertype, String category) {
+    }
+
+    public record Usertype(String usertype) {
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.aslavchev.api.model;
+
+import io.restassured.response.Response;
+
+import java.util.List;
+
+/**
+ * Body of GET /api/brandsList: {"responseCode": 200, "brands": [{"id": 1, "brand": "Polo"}, ...]}
+ */
+public record BrandsListResponse(int responseCode, List<Brand> brands, String message) {
+
+    public record Brand(Integer id, String brand) {
+    }
+
+    public static BrandsListResponse from(Response response) {
+        return ApiJson.read(response, BrandsListResponse.class);
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.aslavchev.api.model;
+
+import io.restassured.response.Response;
+
+/**
+ * Body of POST /api/verifyLogin: {"responseCode": 200 | 400 | 404, "message": "User exists!"}
+ */
+public record LoginResponse(int responseCode, String message) {
+
+    public static LoginResponse from(Response response) {
+        return ApiJson.read(response, LoginResponse.class);
+    }
+}
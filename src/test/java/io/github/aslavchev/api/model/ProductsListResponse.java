@@ -0,0 +1,16 @@
+package io.github.aslavchev.api.model;
+
+import io.restassured.response.Response;
+
+import java.util.List;
+
+/**
+ * Body of GET /api/productsList: {"responseCode": 200, "products": [...]}
+ * (POST returns responseCode 405 and a message instead of products)
+ */
+public record ProductsListResponse(int responseCode, List<ApiProduct> products, String message) {
+
+    public static ProductsListResponse from(Response response) {
+        return ApiJson.read(response, ProductsListResponse.class);
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.aslavchev.api.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProductsListValidator - Contract check of a /api/productsList body, streamed token by token
+ * <p>
+ * Why: reading the body into a list (JsonPath, or ProductsListResponse) holds every product
+ * in memory at once, so a contract check against a multi-megabyte catalog costs a tree the
+ * size of the catalog. This walks the body with a Jackson JsonParser and keeps only counters,
+ * so memory stays the same whatever the number of products - as long as the body is not
+ * already in memory: validate an unbuffered response (APIHelper.streamAllProducts) or a
+ * stream. A response from ApiClient.given() has already been read into a byte[].
+ * <p>
+ * Checked for each element of "products":
+ * - it is an object
+ * - id is an integer; name, price and brand are non-blank strings
+ * - category is an object with a non-blank "category" and a "usertype" object
+ * Fields not in the contract are skipped without being read into values.
+ * <p>
+ * Only the first {@link #MAX_REPORTED} violations are kept as messages; the rest are counted.
+ */
+public final class ProductsListValidator {
+
+    /**
+     * Violation messages kept in a result; later ones only increase the count
+     */
+    public static final int MAX_REPORTED = 20;
+
+    private static final String[] REQUIRED = {"id", "name", "price", "brand", "category"};
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private ProductsListValidator() {
+    }
+
+    /**
+     * Outcome of one validation
+     *
+     * @param responseCode   "responseCode" of the body, -1 if absent
+     * @param products       elements in "products"
+     * @param missing        per required field (id, name, price, brand, category), elements without it
+     * @param violationCount all violations found, reported or not
+     * @param violations     the first {@link #MAX_REPORTED} violations, with the element index
+     */
+    public record Result(int responseCode, int products, int[] missing, int violationCount, List<String> violations) {
+
+        public boolean valid() {
+            return violationCount == 0;
+        }
+
+        /**
+         * Elements missing the given required field
+         */
+        public int missing(String field) {
+            for (int i = 0; i < REQUIRED.length; i++) {
+                if (REQUIRED[i].equals(field)) {
+                    return missing[i];
+                }
+            }
+            throw new IllegalArgumentException("Not a required field: " + field);
+        }
+
+        @Override
+        public String toString() {
+            return "responseCode=" + responseCode + ", products=" + products
+                    + ", violations=" + violationCount + (violations.isEmpty() ? "" : " " + violations);
+        }
+    }
+
+    /**
+     * Validate the response body, streaming it if the response has not been buffered;
+     * the body is read to the end, which releases a pooled connection
+     */
+    public static Result validate(Response response) {
+        return validate(response.asInputStream());
+    }
+
+    public static Result validate(byte[] body) {
+        return validate(new ByteArrayInputStream(body));
+    }
+
+    /**
+     * Validate a body read from the stream; the stream is closed when done
+     *
+     * @throws UncheckedIOException if the body is not well-formed JSON
+     */
+    public static Result validate(InputStream body) {
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            return new Walk(parser).root();
+        } catch (IOException e) {
+            throw new UncheckedIOException("productsList body is not well-formed JSON", e);
+        }
+    }
+
+    // State of one pass over the body
+    private static final class Walk {
+
+        private final JsonParser parser;
+        private final int[] missing = new int[REQUIRED.length];
+        private final List<String> violations = new ArrayList<>();
+        private int violationCount;
+        private int responseCode = -1;
+        private int products;
+
+        Walk(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        Result root() throws IOException {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                violation("body is not a JSON object");
+                return result();
+            }
+            boolean sawProducts = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("responseCode".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    responseCode = parser.getIntValue();
+                } else if ("products".equals(field)) {
+                    sawProducts = true;
+                    products(value);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!sawProducts) {
+                violation("body has no \"products\" array");
+            }
+            return result();
+        }
+
+        private void products(JsonToken value) throws IOException {
+            if (value != JsonToken.START_ARRAY) {
+                violation("\"products\" is not an array");
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                product(products++);
+            }
+        }
+
+        private void product(int index) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                violation("products[" + index + "] is not an object");
+                parser.skipChildren();
+                return;
+            }
+            boolean[] present = new boolean[REQUIRED.length];
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "id" -> present[0] = check(value == JsonToken.VALUE_NUMBER_INT, index, "id is not an integer");
+                    case "name" -> present[1] = text(value, index, "name");
+                    case "price" -> present[2] = text(value, index, "price");
+                    case "brand" -> present[3] = text(value, index, "brand");
+                    case "category" -> present[4] = category(value, index);
+                    default -> parser.skipChildren();
+                }
+            }
+            for (int i = 0; i < REQUIRED.length; i++) {
+                if (!present[i]) {
+                    missing[i]++;
+                    violation("products[" + index + "] has no " + REQUIRED[i]);
+                }
+            }
+        }
+
+        // Present counts as present even when malformed, so one bad field is one violation
+        private boolean check(boolean ok, int index, String problem) throws IOException {
+            if (!ok) {
+                violation("products[" + index + "] " + problem);
+                parser.skipChildren();
+            }
+            return true;
+        }
+
+        private boolean text(JsonToken value, int index, String field) throws IOException {
+            return check(value == JsonToken.VALUE_STRING && !parser.getText().isBlank(),
+                    index, field + " is not a non-blank string");
+        }
+
+        private boolean category(JsonToken value, int index) throws IOException {
+            if (value != JsonToken.START_OBJECT) {
+                return check(false, index, "category is not an object");
+            }
+            boolean name = false;
+            boolean usertype = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken nested = parser.nextToken();
+                if ("category".equals(field)) {
+                    name = nested == JsonToken.VALUE_STRING && !parser.getText().isBlank();
+                } else if ("usertype".equals(field)) {
+                    usertype = nested == JsonToken.START_OBJECT;
+                }
+                parser.skipChildren();
+            }
+            if (!name || !usertype) {
+                violation("products[" + index + "] category needs a \"category\" name and a \"usertype\" object");
+            }
+            return true;
+        }
+
+        private void violation(String message) {
+            violationCount++;
+            if (violations.size() < MAX_REPORTED) {
+                violations.add(message);
+            }
+        }
+
+        private Result result() {
+            return new Result(responseCode, products, missing.clone(), violationCount, List.copyOf(violations));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.aslavchev.api.model;
+
+import io.restassured.response.Response;
+
+import java.util.List;
+
+/**
+ * Body of POST /api/searchProduct: {"responseCode": 200, "products": [...]},
+ * or {"responseCode": 400, "message": "..."} when search_product is missing
+ */
+public record SearchResponse(int responseCode, List<ApiProduct> products, String message) {
+
+    public static SearchResponse from(Response response) {
+        return ApiJson.read(response, SearchResponse.class);
+    }
+}
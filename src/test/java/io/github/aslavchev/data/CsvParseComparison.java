@@ -0,0 +1,113 @@
+package io.github.aslavchev.data;
+
+import io.github.aslavchev.metrics.Bench;
+import io.github.aslavchev.utils.CsvReader;
+import io.github.aslavchev.utils.CsvRow;
+import io.github.aslavchev.utils.UserData;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CsvParseComparison - Time and allocation of the old line.split(",") readers vs CsvReader
+ * <p>
+ * Generates a user-data.csv style file (default 100k rows) under target/ and parses it with:
+ * - split + HashMap:  the former readSimpleTestData (one HashMap per row)
+ * - split + UserData: the former getUserData row mapping (by position)
+ * - CsvReader.toMap / CsvReader -> UserData.from: the same results via CsvReader
+ * Each variant is warmed up, then timed over several passes; allocation is the bytes the
+ * parsing thread allocated per pass (com.sun.management.ThreadMXBean).
+ * <p>
+ * Run: java -cp target/test-classes:target/classes io.github.aslavchev.data.CsvParseComparison [rows]
+ * Results are recorded in docs/performance/benchmarks.md.
+ */
+public final class CsvParseComparison {
+
+    private static final int WARMUP_PASSES = 15;
+    private static final int MEASURED_PASSES = 30;
+
+    private CsvParseComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Path csv = generate(Path.of("target", "generated-user-data.csv").toAbsolutePath(), rows);
+
+        System.out.println("📊 CSV parse comparison - " + rows + " rows (" + Files.size(csv) / 1024 + " KB)");
+        System.out.println(String.format("   %-28s %12s %16s", "parser", "ms / pass", "MB alloc / pass"));
+        measure("split + HashMap", csv, CsvParseComparison::splitToMaps);
+        measure("CsvReader + toMap", csv, file -> read(file, row -> consume(row.toMap().get("email"))));
+        measure("split + UserData", csv, CsvParseComparison::splitToUsers);
+        measure("CsvReader + UserData.from", csv, file -> read(file, row -> consume(UserData.from(row).email)));
+    }
+
+    private static void measure(String name, Path csv, Consumer<Path> parser) {
+        Bench.Result pass = Bench.measure(WARMUP_PASSES, MEASURED_PASSES, () -> parser.accept(csv));
+        System.out.println(String.format("   %-28s %12.1f %16.1f", name, pass.millisPerOp(), pass.mbPerOp()));
+    }
+
+    private static void read(Path file, Consumer<CsvRow> perRow) {
+        try (CsvReader reader = CsvReader.open(file)) {
+            for (CsvRow row = reader.next(); row != null; row = reader.next()) {
+                perRow.accept(row);
+            }
+        }
+    }
+
+    // Former TestDataReader.readSimpleTestData row handling
+    private static void splitToMaps(Path file) {
+        try (BufferedReader br = Files.newBufferedReader(file)) {
+            String[] headers = br.readLine().split(",");
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] values = line.split(",");
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < headers.length; i++) {
+                    row.put(headers[i], values[i]);
+                }
+                consume(row.get("email"));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Former TestDataReader.getUserData row handling
+    private static void splitToUsers(Path file) {
+        try (BufferedReader br = Files.newBufferedReader(file)) {
+            br.readLine();
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] values = line.split(",");
+                if (values.length == 7) {
+                    consume(new UserData(values[0], values[1], values[2], values[3],
+                            values[4], values[5], values[6]).email);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Path generate(Path file, int rows) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("email,username,fullName,street,cityStatePostcode,country,phone\n");
+            for (int i = 0; i < rows; i++) {
+                out.write("user" + i + "@example.com,User " + i + ",. User Number" + i + "," + (i % 900 + 100)
+                        + " George Street,Sydney New South Wales 2000,Australia,+61 2 9555 " + (1000 + i % 9000) + "\n");
+            }
+        }
+        return file;
+    }
+
+    private static void consume(String value) {
+        Bench.consume(value.length());
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.aslavchev.data;
+
+import io.github.aslavchev.utils.TestDataReader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * DataProviderComparison - Time and memory of Object[][] vs Iterator DataProviders on a large CSV
+ * <p>
+ * Generates a search-terms style CSV (default 100k rows) under target/ and consumes it the way
+ * TestNG does, once per reader:
+ * - time to first row: when TestNG could start the first test
+ * - total time:        all rows handed out
+ * - retained heap:     live heap held by the data provider while tests run (sampled after GC)
+ * <p>
+ * Run: java -cp target/test-classes:target/classes io.github.aslavchev.data.DataProviderComparison [rows]
+ * Results are recorded in docs/performance/benchmarks.md.
+ */
+public final class DataProviderComparison {
+
+    private static final int SAMPLES = 10;
+
+    private DataProviderComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Path csv = generate(Path.of("target", "generated-search-terms.csv").toAbsolutePath(), rows);
+
+        // Warm-up so class loading and JIT do not land on whichever reader runs first
+        TestDataReader.readSimpleTestData(csv.toString());
+        TestDataReader.streamSimpleTestData(csv.toString()).forEachRemaining(row -> { });
+
+        System.out.println("📊 DataProvider comparison - " + rows + " rows (" + Files.size(csv) / 1024 + " KB)");
+        System.out.println(String.format("   %-28s %14s %12s %16s", "reader", "first row ms", "total ms", "retained heap KB"));
+        measureArray(csv, rows);
+        measureIterator(csv, rows);
+    }
+
+    private static void measureArray(Path csv, int rows) {
+        long baseline = usedHeapAfterGc();
+        samplingNanos = 0;
+        long start = System.nanoTime();
+        Object[][] data = TestDataReader.readSimpleTestData(csv.toString());
+        double firstRowMs = elapsedMs(start); // Nothing is available until the whole file is parsed
+        long retained = 0;
+        for (int i = 0; i < data.length; i++) {
+            consume(data[i]);
+            if (i % (rows / SAMPLES) == 0) {
+                retained = Math.max(retained, usedHeapAfterGc() - baseline);
+            }
+        }
+        print("readSimpleTestData", firstRowMs, elapsedMs(start), retained);
+    }
+
+    private static void measureIterator(Path csv, int rows) {
+        long baseline = usedHeapAfterGc();
+        samplingNanos = 0;
+        long start = System.nanoTime();
+        Iterator<Object[]> data = TestDataReader.streamSimpleTestData(csv.toString());
+        consume(data.next());
+        double firstRowMs = elapsedMs(start);
+        long retained = 0;
+        for (int i = 1; data.hasNext(); i++) {
+            consume(data.next());
+            if (i % (rows / SAMPLES) == 0) {
+                retained = Math.max(retained, usedHeapAfterGc() - baseline);
+            }
+        }
+        print("streamSimpleTestData", firstRowMs, elapsedMs(start), retained);
+    }
+
+    private static Path generate(Path file, int rows) throws IOException {
+        Files.createDirectories(file.getParent());
+        String[] words = {"top", "tshirt", "jean", "dress", "saree", "shirt", "jacket", "polo"};
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("searchTerm,expectedMinResults\n");
+            for (int i = 0; i < rows; i++) {
+                out.write(words[i % words.length] + " " + i + "," + (i % 5) + "\n");
+            }
+        }
+        return file;
+    }
+
+    private static int sink;
+    private static long samplingNanos;
+
+    private static void consume(Object[] row) {
+        sink += row[0].hashCode(); // Keep the JIT from dropping the row
+    }
+
+    /**
+     * Heap in use after a full GC - the GC time is excluded from the timings
+     */
+    private static long usedHeapAfterGc() {
+        long start = System.nanoTime();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        samplingNanos += System.nanoTime() - start;
+        return used;
+    }
+
+    private static double elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos - samplingNanos) / 1_000_000.0;
+    }
+
+    private static void print(String reader, double firstRowMs, double totalMs, long retainedBytes) {
+        System.out.println(String.format("   %-28s %14.1f %12.1f %16d",
+                reader, firstRowMs, totalMs, Math.max(0, retainedBytes) / 1024));
+    }
+}
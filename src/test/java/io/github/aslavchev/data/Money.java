@@ -0,0 +1,77 @@
+package io.github.aslavchev.data;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Money - A price as shown on the site ("Rs. 500")
+ * <p>
+ * The site only has whole-rupee prices, so the amount is a long - no rounding, cheap
+ * equals/hashCode, and usable as a sorted-map key (ProductCatalog's price index).
+ * toString() gives back the site's format, so it can be compared with page text directly.
+ *
+ * @param currency Currency prefix as displayed (e.g. "Rs.")
+ * @param amount   Whole units
+ */
+public record Money(String currency, long amount) implements Comparable<Money> {
+
+    public static final String RUPEES = "Rs.";
+
+    private static final Pattern FORMAT = Pattern.compile("\\s*(\\S+?)\\s*(\\d+)\\s*");
+
+    public Money {
+        if (currency == null || currency.isBlank()) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+    }
+
+    /**
+     * Amount in rupees
+     */
+    public static Money rupees(long amount) {
+        return new Money(RUPEES, amount);
+    }
+
+    /**
+     * Parse a displayed price
+     *
+     * @param text Price as shown on the site, e.g. "Rs. 500"
+     * @throws IllegalArgumentException if the text is not a currency followed by whole units
+     */
+    public static Money parse(String text) {
+        Matcher m = FORMAT.matcher(text == null ? "" : text);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Not a price: " + text);
+        }
+        return new Money(m.group(1), Long.parseLong(m.group(2)));
+    }
+
+    public Money times(int quantity) {
+        return new Money(currency, amount * quantity);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(currency, amount + other.amount);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(amount, other.amount);
+    }
+
+    /**
+     * Site format, e.g. "Rs. 500"
+     */
+    @Override
+    public String toString() {
+        return currency + " " + amount;
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + this + " vs " + other);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.aslavchev.data;
+
+/**
+ * Product - One row of the product catalog (testdata/products.csv)
+ *
+ * @param id       Site product id, as used in /product_details/{id} and /add_to_cart/{id}
+ * @param name     Product name as displayed
+ * @param price    Unit price
+ * @param category Category as displayed on the product page, e.g. "Women > Tops"
+ */
+public record Product(int id, String name, Money price, String category) {
+
+    /**
+     * Top-level category, e.g. "Women" for "Women > Tops"
+     */
+    public String usertype() {
+        int separator = category.indexOf('>');
+        return separator < 0 ? category : category.substring(0, separator).trim();
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.aslavchev.data;
+
+import io.github.aslavchev.utils.CsvReader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * ProductCatalog - Immutable, indexed view of testdata/products.csv
+ * <p>
+ * Why: ProductDataProvider used to fill a static HashMap lazily without synchronization,
+ * so parallel DataProviders could race and read a half-built map. This catalog:
+ * - Is parsed once, from the classpath (works from any working directory and from a jar)
+ * - Is published through the holder idiom - the JVM's class initialization guarantees every
+ *   thread sees the fully built instance, with no locks on the read path
+ * - Holds only unmodifiable collections, so lookups are safe from any number of threads
+ * <p>
+ * Indexes: name (case-insensitive), category (full "Women > Tops" or top-level "Women",
+ * case-insensitive) and price (sorted, for range queries).
+ */
+public final class ProductCatalog {
+
+    static final String RESOURCE = "testdata/products.csv";
+
+    private final List<Product> products;
+    private final Map<String, Product> byName;
+    private final Map<String, List<Product>> byCategory;
+    private final NavigableMap<Money, List<Product>> byPrice;
+
+    private ProductCatalog(List<Product> products) {
+        Map<String, Product> names = new LinkedHashMap<>();
+        Map<String, List<Product>> categories = new LinkedHashMap<>();
+        NavigableMap<Money, List<Product>> prices = new TreeMap<>();
+        for (Product product : products) {
+            if (names.putIfAbsent(key(product.name()), product) != null) {
+                throw new IllegalStateException("Duplicate product in " + RESOURCE + ": " + product.name());
+            }
+            categories.computeIfAbsent(key(product.category()), k -> new ArrayList<>()).add(product);
+            if (!key(product.usertype()).equals(key(product.category()))) {
+                categories.computeIfAbsent(key(product.usertype()), k -> new ArrayList<>()).add(product);
+            }
+            prices.computeIfAbsent(product.price(), k -> new ArrayList<>()).add(product);
+        }
+        categories.replaceAll((k, list) -> List.copyOf(list));
+        prices.replaceAll((k, list) -> List.copyOf(list));
+
+        this.products = List.copyOf(products);
+        this.byName = Collections.unmodifiableMap(names);
+        this.byCategory = Collections.unmodifiableMap(categories);
+        this.byPrice = Collections.unmodifiableNavigableMap(prices);
+    }
+
+    /**
+     * The catalog loaded from testdata/products.csv (parsed on first use, then shared)
+     */
+    public static ProductCatalog get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * All products in file order
+     */
+    public List<Product> all() {
+        return products;
+    }
+
+    /**
+     * Look up a product by name (case-insensitive)
+     */
+    public Optional<Product> find(String name) {
+        return Optional.ofNullable(byName.get(key(name)));
+    }
+
+    /**
+     * Look up a product by name (case-insensitive)
+     *
+     * @throws IllegalArgumentException if the product is not in the catalog
+     */
+    public Product product(String name) {
+        return find(name).orElseThrow(() ->
+                new IllegalArgumentException("Product not found in catalog: " + name));
+    }
+
+    /**
+     * Products in a category, e.g. "Women > Tops" or just "Women" (case-insensitive)
+     *
+     * @return Products in file order, empty if none
+     */
+    public List<Product> inCategory(String category) {
+        return byCategory.getOrDefault(key(category), List.of());
+    }
+
+    /**
+     * Products priced within [min, max], cheapest first
+     */
+    public List<Product> priceBetween(Money min, Money max) {
+        return byPrice.subMap(min, true, max, true).values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private static String key(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static ProductCatalog load(String resource) {
+        try (CsvReader reader = CsvReader.openResource(resource)) {
+            // Columns: productName,productPrice,productId,category
+            return new ProductCatalog(reader.readAll(row -> new Product(
+                    Integer.parseInt(row.get("productId").trim()),
+                    row.get("productName").trim(),
+                    Money.parse(row.get("productPrice")),
+                    row.get("category").trim())));
+        }
+    }
+
+    private static final class Holder {
+        private static final ProductCatalog INSTANCE = load(RESOURCE);
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.aslavchev.data;
+
+import io.github.aslavchev.utils.CsvReader;
+import io.github.aslavchev.utils.CsvRow;
+import io.github.aslavchev.utils.CsvWriter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * TestDataGenerator - Seeded, large data sets in the same CSV schemas as src/test/resources/testdata
+ * <p>
+ * Why: the checked-in CSVs hold 2-5 rows, too few to load-test the data path (CsvReader,
+ * streaming DataProviders, UserDataIndex) at realistic volumes. This writes:
+ * - search-terms.csv      searchTerm - words and prefixes of catalog product and category names
+ * - user-data.csv         the real accounts first (so logins still resolve), then generated users
+ * - checkout-payment.csv  catalog products with Luhn-valid card numbers
+ * - product-pairs.csv     two distinct catalog products per row
+ * Rows are streamed straight to disk (CsvWriter), so any size runs in constant memory.
+ * The same seed and size always produce byte-identical files; each file has its own random
+ * stream, so changing one file's generator does not shift the others.
+ * <p>
+ * Configuration:
+ * - -Ddata.rows=N    rows per file (default: 10000)
+ * - -Ddata.seed=N    random seed (default: 42)
+ * - -Ddata.out=dir   output directory (default: target/generated-testdata)
+ * <p>
+ * Run:  java -cp target/test-classes:target/classes io.github.aslavchev.data.TestDataGenerator
+ * Use:  mvn test -Dgroups=api -Dtestdata.dir=target/generated-testdata
+ */
+public final class TestDataGenerator {
+
+    private static final Path SOURCE_DIR = Path.of("src/test/resources/testdata");
+
+    private static final String[] FIRST_NAMES = {"Olivia", "Jack", "Charlotte", "Noah", "Amelia", "William",
+            "Isla", "Oliver", "Mia", "Thomas", "Grace", "James", "Chloe", "Lucas", "Ava", "Henry"};
+    private static final String[] LAST_NAMES = {"Smith", "Jones", "Williams", "Brown", "Wilson", "Taylor",
+            "Nguyen", "Johnson", "Martin", "White", "Anderson", "Walker", "Thompson", "Kelly"};
+    private static final String[] STREETS = {"George Street", "Pitt Street", "Oxford Street", "King Street",
+            "Elizabeth Street", "Crown Street", "Bourke Street", "Collins Street"};
+    private static final String[] CITIES = {"Sydney New South Wales 2000", "Melbourne Victoria 3000",
+            "Brisbane Queensland 4000", "Perth Western Australia 6000", "Adelaide South Australia 5000"};
+
+    private final long seed;
+    private final int rows;
+    private final Path out;
+    private final List<String> productNames;
+
+    TestDataGenerator(long seed, int rows, Path out) {
+        this.seed = seed;
+        this.rows = rows;
+        this.out = out;
+        this.productNames = ProductCatalog.get().all().stream().map(Product::name).toList();
+    }
+
+    public static void main(String[] args) {
+        TestDataGenerator generator = new TestDataGenerator(
+                Long.getLong("data.seed", 42),
+                Integer.getInteger("data.rows", 10_000),
+                Path.of(System.getProperty("data.out", "target/generated-testdata")));
+        long start = System.currentTimeMillis();
+        long written = generator.searchTerms() + generator.users() + generator.checkoutPayments() + generator.productPairs();
+        System.out.println(String.format("🧪 Generated %d rows (seed %d) in %d ms -> %s",
+                written, generator.seed, System.currentTimeMillis() - start, generator.out.toAbsolutePath()));
+    }
+
+    long searchTerms() {
+        SplittableRandom random = random("search-terms");
+        List<String> words = catalogWords();
+        try (CsvWriter csv = CsvWriter.open(out.resolve("search-terms.csv"), "searchTerm")) {
+            for (int i = 0; i < rows; i++) {
+                String word = words.get(random.nextInt(words.size()));
+                // Whole word or a prefix of at least 3 letters - both still match catalog names
+                int length = word.length() <= 3 ? word.length() : random.nextInt(3, word.length() + 1);
+                csv.row(word.substring(0, length));
+            }
+            return csv.rows();
+        }
+    }
+
+    long users() {
+        SplittableRandom random = random("user-data");
+        String[] header = {"email", "username", "fullName", "street", "cityStatePostcode", "country", "phone"};
+        try (CsvWriter csv = CsvWriter.open(out.resolve("user-data.csv"), header);
+             CsvReader real = CsvReader.open(SOURCE_DIR.resolve("user-data.csv"))) {
+            for (CsvRow row = real.next(); row != null && csv.rows() < rows; row = real.next()) {
+                String[] values = new String[header.length];
+                for (int i = 0; i < header.length; i++) {
+                    values[i] = row.get(header[i]);
+                }
+                csv.row(values);
+            }
+            for (long n = csv.rows() + 1; csv.rows() < rows; n++) {
+                String first = pick(random, FIRST_NAMES);
+                String last = pick(random, LAST_NAMES);
+                String street = random.nextInt(4) == 0
+                        ? "Unit " + random.nextInt(1, 40) + ", " + random.nextInt(1, 500) + " " + pick(random, STREETS)
+                        : random.nextInt(1, 500) + " " + pick(random, STREETS);
+                csv.row("user" + n + "." + seed + "@example.test",
+                        first + " " + last,
+                        ". " + first + " " + last,
+                        street,
+                        pick(random, CITIES),
+                        "Australia",
+                        String.format("+61 2 9%03d %04d", random.nextInt(1000), random.nextInt(10_000)));
+            }
+            return csv.rows();
+        }
+    }
+
+    long checkoutPayments() {
+        SplittableRandom random = random("checkout-payment");
+        try (CsvWriter csv = CsvWriter.open(out.resolve("checkout-payment.csv"),
+                "testName", "productName", "cardName", "cardNumber", "cvc", "expiryMonth", "expiryYear")) {
+            for (int i = 1; i <= rows; i++) {
+                String product = productNames.get(random.nextInt(productNames.size()));
+                csv.row(product + " Checkout " + i,
+                        product,
+                        pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                        luhnCardNumber(random),
+                        String.format("%03d", random.nextInt(1000)),
+                        String.format("%02d", random.nextInt(1, 13)),
+                        String.valueOf(random.nextInt(2030, 2035)));
+            }
+            return csv.rows();
+        }
+    }
+
+    long productPairs() {
+        SplittableRandom random = random("product-pairs");
+        try (CsvWriter csv = CsvWriter.open(out.resolve("product-pairs.csv"), "testName", "product1", "product2")) {
+            for (int i = 0; i < rows; i++) {
+                int first = random.nextInt(productNames.size());
+                int second = (first + random.nextInt(1, productNames.size())) % productNames.size();
+                csv.row(productNames.get(first) + " and " + productNames.get(second),
+                        productNames.get(first), productNames.get(second));
+            }
+            return csv.rows();
+        }
+    }
+
+    /**
+     * 16-digit number with a 4 (Visa) prefix whose last digit is the Luhn check digit
+     */
+    static String luhnCardNumber(SplittableRandom random) {
+        int[] digits = new int[16];
+        digits[0] = 4;
+        for (int i = 1; i < 15; i++) {
+            digits[i] = random.nextInt(10);
+        }
+        int sum = 0;
+        for (int i = 14; i >= 0; i--) {
+            // Double every second digit counting left from the check digit
+            int d = (14 - i) % 2 == 0 ? digits[i] * 2 : digits[i];
+            sum += d > 9 ? d - 9 : d;
+        }
+        digits[15] = (10 - sum % 10) % 10;
+
+        StringBuilder number = new StringBuilder(16);
+        for (int d : digits) {
+            number.append(d);
+        }
+        return number.toString();
+    }
+
+    private List<String> catalogWords() {
+        Set<String> words = new LinkedHashSet<>();
+        for (Product product : ProductCatalog.get().all()) {
+            String leafCategory = product.category().substring(product.category().indexOf('>') + 1);
+            for (String word : (product.name() + " " + leafCategory).split("[^A-Za-z]+")) {
+                if (word.length() >= 3) {
+                    words.add(word.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * Independent stream per file, derived from the seed and the file name
+     */
+    private SplittableRandom random(String file) {
+        return new SplittableRandom(seed * 31 + file.hashCode());
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
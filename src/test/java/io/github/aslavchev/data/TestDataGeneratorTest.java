@@ -0,0 +1,77 @@
+package io.github.aslavchev.data;
+
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for TestDataGenerator.luhnCardNumber
+ */
+public class TestDataGeneratorTest {
+
+    @Test(groups = {"unit"})
+    public void checkerAcceptsKnownTestCards() {
+        assertThat(luhnValid("4111111111111111"), is(true));
+        assertThat(luhnValid("4012888888881881"), is(true));
+        assertThat(luhnValid("4111111111111112"), is(false));
+    }
+
+    @Test(groups = {"unit"})
+    public void generatedNumbersAreLuhnValidVisaNumbers() {
+        SplittableRandom random = new SplittableRandom(42);
+        Set<Character> checkDigits = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String number = TestDataGenerator.luhnCardNumber(random);
+
+            assertThat(number, matchesPattern("4\\d{15}"));
+            assertThat("Luhn check of " + number, luhnValid(number), is(true));
+            checkDigits.add(number.charAt(15));
+        }
+        assertThat("Every check digit 0-9 occurs", checkDigits, hasSize(10));
+    }
+
+    @Test(groups = {"unit"})
+    public void anySingleDigitChangeFailsTheCheck() {
+        String number = TestDataGenerator.luhnCardNumber(new SplittableRandom(7));
+        for (int position = 0; position < number.length(); position++) {
+            int digit = number.charAt(position) - '0';
+            for (int other = 0; other < 10; other++) {
+                if (other == digit) {
+                    continue;
+                }
+                String changed = number.substring(0, position) + other + number.substring(position + 1);
+                assertThat("Digit " + position + " changed to " + other, luhnValid(changed), is(false));
+            }
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void sameSeedGivesSameNumbers() {
+        SplittableRandom first = new SplittableRandom(123);
+        SplittableRandom second = new SplittableRandom(123);
+        for (int i = 0; i < 100; i++) {
+            assertThat(TestDataGenerator.luhnCardNumber(first), is(TestDataGenerator.luhnCardNumber(second)));
+        }
+    }
+
+    // Independent check, walking the whole number from the right
+    private static boolean luhnValid(String number) {
+        int sum = 0;
+        for (int i = 0; i < number.length(); i++) {
+            int digit = number.charAt(number.length() - 1 - i) - '0';
+            if (i % 2 == 1) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        return sum % 10 == 0;
+    }
+}
@@ -0,0 +1,268 @@
+package io.github.aslavchev.driver;
+
+import io.github.aslavchev.config.SiteConfig;
+import io.github.aslavchev.metrics.RunMetrics;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Unit tests for the pooled DriverPool logic, driven through a stub WebDriver factory (no browser needed)
+ */
+public class DriverPoolTest {
+
+    private static final Duration SHORT = Duration.ofMillis(200);
+
+    @Test(groups = {"unit"})
+    public void healthySessionIsResetAndReused() {
+        StubFactory factory = new StubFactory();
+        DriverPool.Sessions pool = new DriverPool.Sessions(2, 20, SHORT, factory);
+        long booted = RunMetrics.count("driver.sessions.booted");
+        long reused = RunMetrics.count("driver.sessions.reused");
+
+        WebDriver first = pool.acquire();
+        pool.release(first, true);
+        WebDriver second = pool.acquire();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(factory.booted(), is(1));
+        assertThat(RunMetrics.count("driver.sessions.booted") - booted, is(1L));
+        assertThat(RunMetrics.count("driver.sessions.reused") - reused, is(1L));
+        StubBrowser browser = StubBrowser.of(first);
+        assertThat(browser.quit, is(false));
+        assertThat(browser.visited, contains(SiteConfig.baseUrl() + "/view_cart", SiteConfig.baseUrl()));
+        assertThat("Consent cookie kept, the rest deleted", browser.deletedCookies, contains("session"));
+    }
+
+    @Test(groups = {"unit"})
+    public void failedTestEvictsSessionWithoutReset() {
+        StubFactory factory = new StubFactory();
+        DriverPool.Sessions pool = new DriverPool.Sessions(1, 20, SHORT, factory);
+        long evicted = RunMetrics.count("driver.sessions.evicted.failure");
+
+        WebDriver failed = pool.acquire();
+        pool.release(failed, false);
+
+        assertThat(StubBrowser.of(failed).quit, is(true));
+        assertThat(StubBrowser.of(failed).visited, is(empty()));
+        assertThat(pool.live(), is(0));
+        assertThat(RunMetrics.count("driver.sessions.evicted.failure") - evicted, is(1L));
+        assertThat("Next test boots a new session", pool.acquire(), is(not(sameInstance(failed))));
+    }
+
+    @Test(groups = {"unit"})
+    public void sessionIsRecycledAfterMaxUses() {
+        StubFactory factory = new StubFactory();
+        DriverPool.Sessions pool = new DriverPool.Sessions(1, 3, SHORT, factory);
+        long evicted = RunMetrics.count("driver.sessions.evicted.maxUses");
+
+        WebDriver driver = pool.acquire();
+        for (int use = 1; use < 3; use++) {
+            pool.release(driver, true);
+            assertThat("Use " + (use + 1), pool.acquire(), is(sameInstance(driver)));
+        }
+        pool.release(driver, true);
+
+        assertThat(StubBrowser.of(driver).quit, is(true));
+        assertThat(RunMetrics.count("driver.sessions.evicted.maxUses") - evicted, is(1L));
+        assertThat(pool.acquire(), is(not(sameInstance(driver))));
+        assertThat(factory.booted(), is(2));
+    }
+
+    @Test(groups = {"unit"})
+    public void failedResetEvictsSession() {
+        StubFactory factory = new StubFactory();
+        DriverPool.Sessions pool = new DriverPool.Sessions(1, 20, SHORT, factory);
+        long evicted = RunMetrics.count("driver.sessions.evicted.resetFailed");
+
+        WebDriver driver = pool.acquire();
+        StubBrowser.of(driver).failNavigation = true;
+        pool.release(driver, true);
+
+        assertThat(StubBrowser.of(driver).quit, is(true));
+        assertThat(pool.idle(), is(0));
+        assertThat(RunMetrics.count("driver.sessions.evicted.resetFailed") - evicted, is(1L));
+    }
+
+    @Test(groups = {"unit"})
+    public void acquireBeyondPoolSizeTimesOut() {
+        StubFactory factory = new StubFactory();
+        DriverPool.Sessions pool = new DriverPool.Sessions(2, 20, SHORT, factory);
+        pool.acquire();
+        pool.acquire();
+
+        IllegalStateException e = expectThrows(IllegalStateException.class, pool::acquire);
+
+        assertThat(e.getMessage(), containsString("No WebDriver session available"));
+        assertThat(factory.booted(), is(2));
+    }
+
+    @Test(groups = {"unit"}, timeOut = 10_000)
+    public void waitingTestGetsTheReleasedSession() throws Exception {
+        StubFactory factory = new StubFactory();
+        DriverPool.Sessions pool = new DriverPool.Sessions(1, 20, Duration.ofSeconds(5), factory);
+        WebDriver driver = pool.acquire();
+
+        CompletableFuture<WebDriver> waiting = CompletableFuture.supplyAsync(pool::acquire);
+        Thread.sleep(100);
+        assertThat("Blocked while the only session is in use", waiting.isDone(), is(false));
+        pool.release(driver, true);
+
+        assertThat(waiting.get(2, TimeUnit.SECONDS), is(sameInstance(driver)));
+        assertThat(factory.booted(), is(1));
+    }
+
+    @Test(groups = {"unit"})
+    public void failedBootFreesItsSlot() {
+        StubFactory factory = new StubFactory();
+        factory.failNext = true;
+        DriverPool.Sessions pool = new DriverPool.Sessions(1, 20, SHORT, factory);
+
+        expectThrows(WebDriverException.class, pool::acquire);
+
+        assertThat(pool.acquire(), is(notNullValue()));
+    }
+
+    @Test(groups = {"unit"})
+    public void shutdownQuitsIdleSessions() {
+        StubFactory factory = new StubFactory();
+        DriverPool.Sessions pool = new DriverPool.Sessions(2, 20, SHORT, factory);
+        WebDriver first = pool.acquire();
+        WebDriver second = pool.acquire();
+        pool.release(first, true);
+        pool.release(second, true);
+
+        pool.shutdown();
+        pool.shutdown();
+
+        assertThat(StubBrowser.of(first).quit && StubBrowser.of(second).quit, is(true));
+        assertThat(pool.live(), is(0));
+    }
+
+    @Test(groups = {"unit"}, timeOut = 30_000)
+    public void liveSessionsNeverExceedPoolSize() throws Exception {
+        StubFactory factory = new StubFactory();
+        DriverPool.Sessions pool = new DriverPool.Sessions(3, 5, Duration.ofSeconds(10), factory);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tests = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tests.add(threads.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        WebDriver driver = pool.acquire();
+                        factory.recordLive();
+                        pool.release(driver, ThreadLocalRandom.current().nextInt(10) > 0);
+                    }
+                }));
+            }
+            for (Future<?> test : tests) {
+                test.get();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertThat(factory.maxLive.get(), allOf(greaterThan(0), lessThanOrEqualTo(3)));
+        assertThat(pool.live(), lessThanOrEqualTo(3));
+    }
+
+    /**
+     * Boots stub browsers and tracks how many are alive (booted and not quit)
+     */
+    private static final class StubFactory implements Supplier<WebDriver> {
+        private final List<StubBrowser> browsers = new ArrayList<>();
+        private final AtomicInteger maxLive = new AtomicInteger();
+        private boolean failNext;
+
+        @Override
+        public synchronized WebDriver get() {
+            if (failNext) {
+                failNext = false;
+                throw new WebDriverException("session not created");
+            }
+            StubBrowser browser = new StubBrowser();
+            browsers.add(browser);
+            recordLive();
+            return browser.driver;
+        }
+
+        synchronized int booted() {
+            return browsers.size();
+        }
+
+        synchronized void recordLive() {
+            int live = (int) browsers.stream().filter(b -> !b.quit).count();
+            maxLive.accumulateAndGet(live, Math::max);
+        }
+    }
+
+    /**
+     * WebDriver + JavascriptExecutor that records what DriverPool does to it
+     */
+    private static final class StubBrowser implements InvocationHandler {
+        final WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, this);
+        final List<String> visited = new ArrayList<>();
+        final List<String> deletedCookies = new ArrayList<>();
+        volatile boolean quit;
+        volatile boolean failNavigation;
+
+        static StubBrowser of(WebDriver driver) {
+            return (StubBrowser) Proxy.getInvocationHandler(driver);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "get" -> {
+                    if (failNavigation) {
+                        throw new WebDriverException("tab crashed");
+                    }
+                    visited.add((String) args[0]);
+                    yield null;
+                }
+                case "findElements" -> List.of();
+                case "executeScript" -> null;
+                case "manage" -> Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{WebDriver.Options.class}, (options, m, a) -> switch (m.getName()) {
+                            case "getCookies" -> Set.of(new Cookie("FCCDCF", "consent"), new Cookie("session", "1"));
+                            case "deleteCookieNamed" -> {
+                                deletedCookies.add((String) a[0]);
+                                yield null;
+                            }
+                            default -> throw new UnsupportedOperationException(m.getName());
+                        });
+                case "quit" -> {
+                    quit = true;
+                    yield null;
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "StubBrowser@" + Integer.toHexString(System.identityHashCode(proxy));
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.aslavchev.listeners;
+
+import io.github.aslavchev.stub.LocalSite;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+/**
+ * TestNG listener that runs the suite against the embedded LocalSite instead of the live site.
+ * <p>
+ * Enabled with -Dsite=local (default: live). On suite start it:
+ * 1. Starts LocalSite on -Dsite.port (default: any free port)
+ * 2. Points -Dbase.url at it, so pages, seeders and REST Assured all follow (see SiteConfig)
+ * 3. Points -Dtest.users.file at the local accounts, so CredentialPool leases logins the
+ *    local site accepts - every user-data.csv row is an account, which also lifts the
+ *    parallelism cap that real accounts impose
+ * <p>
+ * Example: mvn test -Dsite=local -Dthreads=4
+ */
+public class LocalSiteListener implements ISuiteListener {
+
+    private static final boolean ENABLED = "local".equalsIgnoreCase(System.getProperty("site", "live"));
+    private static final Path ACCOUNTS_FILE = Path.of(System.getProperty("metrics.dir", "target"))
+            .resolve("local-site-accounts.csv");
+
+    private LocalSite site;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!ENABLED) {
+            return;
+        }
+        site = LocalSite.start(Integer.getInteger("site.port", 0));
+        System.setProperty("base.url", site.baseUrl());
+        System.setProperty("test.users.file", writeAccountsFile(site).toString());
+        System.out.println("🏠 Local site: " + site.baseUrl() + " (" + site.accountEmails().size() + " accounts)");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (site != null) {
+            site.stop();
+            site = null;
+        }
+    }
+
+    private static Path writeAccountsFile(LocalSite site) {
+        String rows = site.accountEmails().stream()
+                .map(email -> email + "," + LocalSite.PASSWORD)
+                .collect(Collectors.joining("\n", "email,password\n", "\n"));
+        try {
+            if (ACCOUNTS_FILE.getParent() != null) {
+                Files.createDirectories(ACCOUNTS_FILE.getParent());
+            }
+            Files.writeString(ACCOUNTS_FILE, rows);
+            return ACCOUNTS_FILE;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write local site accounts: " + ACCOUNTS_FILE, e);
+        }
+    }
+}
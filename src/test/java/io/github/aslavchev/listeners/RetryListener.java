@@ -1,23 +1,73 @@
 package io.github.aslavchev.listeners;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.aslavchev.metrics.LatencyHistogram;
+import io.github.aslavchev.metrics.RunMetrics;
 import io.github.aslavchev.utils.RetryAnalyzer;
+import io.github.aslavchev.utils.RetryPolicy;
 import org.testng.*;
 import org.testng.annotations.ITestAnnotation;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * TestNG listener that:
  * 1. Automatically applies RetryAnalyzer to ALL tests
- * 2. Tracks flakiness metrics (which tests retry, how often)
+ * 2. Tracks flakiness metrics (which tests retry, how often, why, how long the failed attempts took)
  * 3. Reports flaky tests at end of suite
+ * 4. Reports the retry policy's cost: retries vs budget, time in failed attempts, reruns and backoff,
+ *    and failures that were not retried (see RetryPolicy)
+ * 5. Writes the summary to target/flakiness.json and appends it to target/flakiness-history.jsonl
+ *    (one JSON object per run) so flakiness can be trended across runs - point -Dmetrics.dir
+ *    at a directory CI keeps between builds to retain the history
+ * <p>
+ * Thread safety: retries are reported from parallel test threads, so the store is a
+ * ConcurrentHashMap of per-test records built from LongAdders and a lock-free LatencyHistogram -
+ * no counts are lost and no lock is taken on the retry path.
  */
-public class RetryListener implements IAnnotationTransformer, ISuiteListener {
+public class RetryListener implements IAnnotationTransformer, ISuiteListener, ITestListener {
 
-    private static Map<String, Integer> flakyTests = new HashMap<>();
+    private static final Path METRICS_DIR = Path.of(System.getProperty("metrics.dir", "target"));
+    private static final Path FLAKINESS_FILE = METRICS_DIR.resolve("flakiness.json");
+    private static final Path HISTORY_FILE = METRICS_DIR.resolve("flakiness-history.jsonl");
+    private static final int MAX_CAUSE_LENGTH = 200;
+    private static final String ATTEMPT = "retry.attempt";
+
+    private static final ConcurrentMap<String, Flakiness> flakyTests = new ConcurrentHashMap<>();
+
+    /**
+     * Retry statistics for one test method
+     */
+    private static final class Flakiness {
+        final LongAdder retries = new LongAdder();
+        final LongAdder recovered = new LongAdder();
+        final ConcurrentMap<String, LongAdder> causes = new ConcurrentHashMap<>();
+        final LatencyHistogram failedAttempts = new LatencyHistogram();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("retries", retries.sum());
+            map.put("passedOnRetry", recovered.sum());
+            Map<String, Long> causeCounts = new TreeMap<>();
+            causes.forEach((cause, count) -> causeCounts.put(cause, count.sum()));
+            map.put("causes", causeCounts);
+            map.put("failedAttempts", failedAttempts.toMap());
+            return map;
+        }
+    }
 
     /**
      * Automatically apply RetryAnalyzer to all test methods
@@ -29,11 +79,72 @@ public class RetryListener implements IAnnotationTransformer, ISuiteListener {
     }
 
     /**
-     * Track retried tests (called from RetryAnalyzer)
+     * Track a retried attempt (called from RetryAnalyzer)
      * CRITICAL: This is called directly from RetryAnalyzer.retry() method
+     *
+     * @param result The failed attempt that is about to be retried
+     */
+    public static void trackRetry(ITestResult result) {
+        Flakiness flakiness = flakyTests.computeIfAbsent(testName(result), k -> new Flakiness());
+        flakiness.retries.increment();
+        flakiness.causes.computeIfAbsent(cause(result.getThrowable()), k -> new LongAdder()).increment();
+        if (result.getEndMillis() >= result.getStartMillis()) {
+            flakiness.failedAttempts.recordMicros((result.getEndMillis() - result.getStartMillis()) * 1_000);
+        }
+    }
+
+    /**
+     * Note the attempt number before the test runs. RetryAnalyzer.retry() bumps its count before
+     * the failed attempt is reported (as SKIP, wasRetried), so the count read at the end would
+     * make the original attempt look like a rerun
+     */
+    @Override
+    public void onTestStart(ITestResult result) {
+        if (result.getMethod().getRetryAnalyzer(result) instanceof RetryAnalyzer analyzer) {
+            result.setAttribute(ATTEMPT, analyzer.retries());
+        }
+    }
+
+    /**
+     * A retried test that passes counts as recovered (flaky), not broken
+     */
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        if (recordRerun(result)) {
+            Flakiness flakiness = flakyTests.get(testName(result));
+            if (flakiness != null) {
+                flakiness.recovered.increment();
+            }
+        }
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordRerun(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        recordRerun(result);
+    }
+
+    /**
+     * Time every attempt that only ran because of a retry ("retry.rerun"). The attempt that
+     * failed first is already in failedAttempts (trackRetry) and is not a rerun
+     *
+     * @return true if this result came from a retry
      */
-    public static void trackFlakyTest(String testName) {
-        flakyTests.put(testName, flakyTests.getOrDefault(testName, 0) + 1);
+    private static boolean recordRerun(ITestResult result) {
+        if (result.getAttribute(ATTEMPT) instanceof Integer attempt && attempt > 0) {
+            RunMetrics.recordTime("retry.rerun", Math.max(0, result.getEndMillis() - result.getStartMillis()));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        RetryPolicy.resetBudget();
     }
 
     /**
@@ -46,14 +157,85 @@ public class RetryListener implements IAnnotationTransformer, ISuiteListener {
             System.out.println("⚠️  FLAKINESS REPORT - Tests That Required Retries");
             System.out.println("=".repeat(60));
 
-            flakyTests.forEach((testName, retryCount) -> {
-                System.out.println(String.format("   🔴 %s (retried %d times)",
-                        testName, retryCount));
+            new TreeMap<>(flakyTests).forEach((testName, flakiness) -> {
+                System.out.println(String.format("   🔴 %s (retried %d times, passed on retry %d)",
+                        testName, flakiness.retries.sum(), flakiness.recovered.sum()));
+                flakiness.causes.forEach((cause, count) ->
+                        System.out.println(String.format("      %dx %s", count.sum(), cause)));
             });
 
             System.out.println("=".repeat(60));
             System.out.println("⚠️  ACTION REQUIRED: Investigate root cause for flaky tests");
             System.out.println("=".repeat(60) + "\n");
         }
+        printRetryCost();
+        writeSummary(suite);
+    }
+
+    private static void printRetryCost() {
+        long failedAttemptMs = flakyTests.values().stream()
+                .mapToLong(f -> Math.round((double) f.failedAttempts.toMap().get("totalMs"))).sum();
+        Map<String, Long> notRetried = new TreeMap<>();
+        for (RetryPolicy.Failure failure : RetryPolicy.Failure.values()) {
+            long count = RunMetrics.count("retry.notRetried." + failure.label());
+            if (count > 0) {
+                notRetried.put(failure.label(), count);
+            }
+        }
+        if (RetryPolicy.budgetUsed() == 0 && notRetried.isEmpty()) {
+            return;
+        }
+        System.out.println(String.format("🔁 Retry policy '%s': %d/%d retries used | failed attempts %d ms | reruns %d ms | backoff %d ms",
+                RetryPolicy.mode(), RetryPolicy.budgetUsed(), RetryPolicy.budget(), failedAttemptMs,
+                totalMs("retry.rerun"), totalMs("retry.backoff")));
+        if (!notRetried.isEmpty()) {
+            System.out.println("   Not retried (real failures): " + notRetried
+                    + (RunMetrics.count("retry.budgetExhausted") > 0
+                    ? " | budget exhausted " + RunMetrics.count("retry.budgetExhausted") + "x" : ""));
+        }
+    }
+
+    private static long totalMs(String timer) {
+        Map<String, Long> stats = RunMetrics.timer(timer);
+        return stats == null ? 0 : stats.getOrDefault("totalMs", 0L);
+    }
+
+    private static void writeSummary(ISuite suite) {
+        Map<String, Object> tests = new TreeMap<>();
+        flakyTests.forEach((testName, flakiness) -> tests.put(testName, flakiness.toMap()));
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("timestamp", Instant.now().toString());
+        summary.put("suite", suite.getName());
+        summary.put("flakyTests", tests.size());
+        summary.put("retries", flakyTests.values().stream().mapToLong(f -> f.retries.sum()).sum());
+        summary.put("retryPolicy", RetryPolicy.mode());
+        summary.put("retryBudget", RetryPolicy.budget());
+        summary.put("tests", tests);
+
+        ObjectMapper mapper = new ObjectMapper();
+        try {
+            Files.createDirectories(METRICS_DIR);
+            mapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(FLAKINESS_FILE.toFile(), summary);
+            Files.writeString(HISTORY_FILE, mapper.writeValueAsString(summary) + "\n",
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write flakiness report: " + FLAKINESS_FILE, e);
+        }
+    }
+
+    private static String testName(ITestResult result) {
+        return result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+    }
+
+    /**
+     * Exception type plus the first line of its message, so one cause groups across runs
+     */
+    private static String cause(Throwable throwable) {
+        if (throwable == null) {
+            return "unknown";
+        }
+        String message = throwable.getMessage() == null ? "" : throwable.getMessage().lines().findFirst().orElse("").trim();
+        String cause = throwable.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+        return cause.length() > MAX_CAUSE_LENGTH ? cause.substring(0, MAX_CAUSE_LENGTH) + "…" : cause;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package io.github.aslavchev.listeners;
+
+import io.github.aslavchev.driver.DriverPool;
+import io.github.aslavchev.driver.RequestBlocker;
+import io.github.aslavchev.metrics.CommandMetrics;
+import io.github.aslavchev.metrics.RunMetrics;
+import io.github.aslavchev.metrics.WaitMetrics;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * TestNG listener that reports framework run metrics at end of suite:
+ * 1. Prints driver session boot-vs-reuse, page load and credential pool contention summaries
+ * 2. Appends wall-clock time vs thread count to target/scaling-report.csv
+ * 3. Writes all RunMetrics counters/timers to target/run-metrics.json
+ * 4. Writes WebDriver command histograms (p50/p95/p99) next to the Allure results
+ * 5. Writes explicit-wait histograms per page and locator to target/wait-metrics.json
+ * <p>
+ * Scaling comparison: run the same groups with -Dthreads=1,2,4,... without
+ * "clean" in between and compare the rows of scaling-report.csv.
+ */
+public class RunMetricsListener implements ISuiteListener {
+
+    private static final Path METRICS_DIR = Path.of(System.getProperty("metrics.dir", "target"));
+    private static final Path METRICS_FILE = METRICS_DIR.resolve("run-metrics.json");
+    private static final Path SCALING_REPORT = METRICS_DIR.resolve("scaling-report.csv");
+    private static final Path COMMAND_METRICS_FILE = Path.of(
+            System.getProperty("allure.results.directory", "target/allure-results"))
+            .resolveSibling("webdriver-commands.json");
+    private static final Path WAIT_METRICS_FILE = METRICS_DIR.resolve("wait-metrics.json");
+    private static final String SCALING_HEADER = "timestamp,suite,threads,driverMode,tests,wallClockMs,msPerTest\n";
+
+    private long suiteStartMillis;
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStartMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long wallClockMillis = System.currentTimeMillis() - suiteStartMillis;
+        RunMetrics.recordTime("suite.wallClock", wallClockMillis);
+
+        printDriverSessionSummary();
+        printPageLoadSummary();
+        printCredentialPoolSummary();
+        appendScalingRow(suite, wallClockMillis);
+        RunMetrics.writeJson(METRICS_FILE);
+
+        if (CommandMetrics.hasData()) {
+            printSlowestPageMethods();
+            CommandMetrics.writeJson(COMMAND_METRICS_FILE);
+        }
+        if (WaitMetrics.hasData()) {
+            printLongestWaits();
+            WaitMetrics.writeJson(WAIT_METRICS_FILE);
+        }
+    }
+
+    private void printLongestWaits() {
+        System.out.println(String.format("⏳ Time in explicit waits by locator (top 5) - observer %d | poll %d | timeouts %d:",
+                RunMetrics.count("wait.observer"), RunMetrics.count("wait.poll"), RunMetrics.count("wait.timeouts")));
+        WaitMetrics.topWaits(5).forEach((key, totalMs) ->
+                System.out.println(String.format("   %-70s %10.0f ms", key, totalMs)));
+    }
+
+    private void printSlowestPageMethods() {
+        System.out.println("🐢 Time in WebDriver commands by page method (top 5):");
+        CommandMetrics.topCallers(5).forEach((caller, totalMs) ->
+                System.out.println(String.format("   %-45s %10.0f ms", caller, totalMs)));
+    }
+
+    private void printDriverSessionSummary() {
+        long booted = RunMetrics.count("driver.sessions.booted");
+        long reused = RunMetrics.count("driver.sessions.reused");
+        if (booted + reused == 0) {
+            return;
+        }
+
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("🌐 DRIVER SESSIONS - Boot vs Reuse");
+        System.out.println("=".repeat(60));
+        System.out.println(String.format("   Booted: %d | Reused: %d | Reuse rate: %.0f%%",
+                booted, reused, 100.0 * reused / (booted + reused)));
+
+        Map<String, Long> boot = RunMetrics.timer("driver.boot");
+        if (boot != null) {
+            System.out.println(String.format("   Avg boot: %d ms | Boot time total: %d ms",
+                    boot.get("avgMs"), boot.get("totalMs")));
+        }
+        System.out.println("=".repeat(60) + "\n");
+    }
+
+    private void printPageLoadSummary() {
+        Map<String, Long> load = RunMetrics.timer("page.load");
+        if (load == null) {
+            return;
+        }
+        Map<String, Long> resources = RunMetrics.value("page.resources");
+        Map<String, Long> heap = RunMetrics.value("page.jsHeapKb");
+
+        System.out.println(String.format("📄 Page loads: %d | avg load %d ms | avg %d resources | avg JS heap %s | blocking %s",
+                load.get("count"),
+                load.get("avgMs"),
+                resources == null ? 0 : resources.get("avg"),
+                heap == null ? "n/a" : heap.get("avg") + " KB",
+                RequestBlocker.isEnabled() ? "on" : "off"));
+    }
+
+    private void printCredentialPoolSummary() {
+        long leases = RunMetrics.count("credentials.leases");
+        if (leases == 0) {
+            return;
+        }
+
+        Map<String, Long> wait = RunMetrics.timer("credentials.wait");
+
+        System.out.println(String.format("🔑 Credential pool: %d leases | %d contended | %d timeouts | max wait %d ms",
+                leases,
+                RunMetrics.count("credentials.contended"),
+                RunMetrics.count("credentials.timeouts"),
+                wait == null ? 0 : wait.get("maxMs")));
+    }
+
+    private void appendScalingRow(ISuite suite, long wallClockMillis) {
+        int tests = 0;
+        for (var result : suite.getResults().values()) {
+            ITestContext context = result.getTestContext();
+            tests += context.getPassedTests().size()
+                    + context.getFailedTests().size()
+                    + context.getSkippedTests().size();
+        }
+        int threads = suite.getXmlSuite().getThreadCount();
+        String driverMode = DriverPool.isPooled() ? "pooled" : "fresh";
+
+        System.out.println(String.format("⏱️  Suite '%s': %d tests in %d ms on %d thread(s)",
+                suite.getName(), tests, wallClockMillis, threads));
+
+        String row = String.join(",",
+                Instant.now().toString(),
+                suite.getName(),
+                String.valueOf(threads),
+                driverMode,
+                String.valueOf(tests),
+                String.valueOf(wallClockMillis),
+                String.valueOf(tests == 0 ? 0 : wallClockMillis / tests)) + "\n";
+        try {
+            Files.createDirectories(METRICS_DIR);
+            if (Files.notExists(SCALING_REPORT)) {
+                Files.writeString(SCALING_REPORT, SCALING_HEADER);
+            }
+            Files.writeString(SCALING_REPORT, row, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not append scaling report: " + e.getMessage());
+        }
+    }
+}
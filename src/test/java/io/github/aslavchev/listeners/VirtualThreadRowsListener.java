@@ -0,0 +1,137 @@
+package io.github.aslavchev.listeners;
+
+import io.github.aslavchev.api.BaseAPITest;
+import io.github.aslavchev.metrics.RunMetrics;
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.internal.ObjectBag;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TestNG listener that runs the data-provider rows of API tests on virtual threads.
+ * <p>
+ * Why: API tests only wait on HTTP, yet each data-driven API test ran its rows one after
+ * another, so API regression time grew with the number of rows. With -Dapi.rows.concurrency=N
+ * (default: 0, off) this listener:
+ * 1. Marks every data provider declared in a BaseAPITest subclass parallel; UI data
+ *    providers are left alone, since each UI row needs a browser
+ * 2. Makes the suite share one data-provider executor and registers it before TestNG would
+ *    create its own fixed pool of platform threads. The executor starts a named virtual
+ *    thread per row, and at most N rows run at once
+ * Each row is still its own TestNG invocation, so @BeforeMethod/@AfterMethod, RetryAnalyzer
+ * and Allure (one result per row, thread label "api-row-N") work as in a serial run.
+ * <p>
+ * TestNG has no public hook for the data-provider executor. It takes a shared one from the
+ * suite's ObjectBag, so that is where this one is registered; recheck on TestNG upgrades.
+ * Registered in the surefire listener list; it does nothing unless the property is set.
+ * <p>
+ * Example: mvn test -Dgroups=api -Dapi.rows.concurrency=16
+ */
+public class VirtualThreadRowsListener implements IAnnotationTransformer, ISuiteListener {
+
+    private final int concurrency;
+    private ExecutorService executor;
+
+    public VirtualThreadRowsListener() {
+        this(Integer.getInteger("api.rows.concurrency", 0));
+    }
+
+    VirtualThreadRowsListener(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        if (concurrency > 0 && BaseAPITest.class.isAssignableFrom(method.getDeclaringClass())) {
+            annotation.setParallel(true);
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (concurrency <= 0) {
+            return;
+        }
+        executor = new CappedVirtualThreadExecutor(concurrency);
+        suite.getXmlSuite().setShareThreadPoolForDataProviders(true);
+        Object shared = ObjectBag.getInstance(suite).createIfRequired(ExecutorService.class, () -> executor);
+        if (shared != executor) {
+            throw new IllegalStateException("TestNG created its data-provider executor before "
+                    + getClass().getSimpleName() + " could register one");
+        }
+        System.out.println("🧵 API data-provider rows: virtual threads, up to " + concurrency + " at once");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * One new virtual thread per task; a semaphore caps how many run at once. Tasks over
+     * the cap park their virtual thread, which costs no platform thread.
+     */
+    static final class CappedVirtualThreadExecutor extends AbstractExecutorService {
+
+        private final ExecutorService threads = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("api-row-", 1).factory());
+        private final Semaphore permits;
+        private final AtomicInteger running = new AtomicInteger();
+
+        CappedVirtualThreadExecutor(int concurrency) {
+            this.permits = new Semaphore(concurrency);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            threads.execute(() -> {
+                permits.acquireUninterruptibly();
+                RunMetrics.recordValue("api.rows.concurrent", running.incrementAndGet());
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            threads.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return threads.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return threads.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return threads.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return threads.awaitTermination(timeout, unit);
+        }
+    }
+}
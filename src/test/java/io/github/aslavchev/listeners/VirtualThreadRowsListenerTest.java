@@ -0,0 +1,82 @@
+package io.github.aslavchev.listeners;
+
+import io.github.aslavchev.api.SearchAPITests;
+import io.github.aslavchev.data.ProductDataProvider;
+import io.github.aslavchev.ui.CartTests;
+import io.github.aslavchev.ui.CheckoutTests;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.annotations.Test;
+import org.testng.internal.annotations.DataProviderAnnotation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for VirtualThreadRowsListener's data-provider selection and row cap (no suite run)
+ */
+public class VirtualThreadRowsListenerTest {
+
+    @Test(groups = {"unit"})
+    public void apiDataProvidersRunInParallel() throws Exception {
+        IDataProviderAnnotation searchTerms = transform(16, SearchAPITests.class.getMethod("getSearchTerms"));
+
+        assertThat(searchTerms.isParallel(), is(true));
+    }
+
+    @Test(groups = {"unit"})
+    public void uiDataProvidersAreLeftAlone() throws Exception {
+        assertThat(transform(16, CartTests.class.getMethod("getProductData")).isParallel(), is(false));
+        assertThat(transform(16, CheckoutTests.class.getMethod("getCheckoutData")).isParallel(), is(false));
+    }
+
+    @Test(groups = {"unit"})
+    public void sharedDataProviderClassesAreLeftAlone() throws Exception {
+        assertThat("Declared outside BaseAPITest, may feed UI tests",
+                transform(16, ProductDataProvider.class.getMethod("getProductPairs")).isParallel(), is(false));
+    }
+
+    @Test(groups = {"unit"})
+    public void nothingChangesWhenOff() throws Exception {
+        assertThat(transform(0, SearchAPITests.class.getMethod("getSearchTerms")).isParallel(), is(false));
+    }
+
+    @Test(groups = {"unit"}, timeOut = 10_000)
+    public void executorRunsAtMostConcurrencyRowsAtOnce() throws Exception {
+        VirtualThreadRowsListener.CappedVirtualThreadExecutor executor =
+                new VirtualThreadRowsListener.CappedVirtualThreadExecutor(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(40);
+        try {
+            for (int row = 0; row < 40; row++) {
+                executor.execute(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                        finished.countDown();
+                    }
+                });
+            }
+            assertThat(finished.await(5, TimeUnit.SECONDS), is(true));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(peak.get(), allOf(greaterThan(1), lessThanOrEqualTo(4)));
+    }
+
+    private static IDataProviderAnnotation transform(int concurrency, Method provider) {
+        IDataProviderAnnotation annotation = new DataProviderAnnotation();
+        new VirtualThreadRowsListener(concurrency).transform(annotation, provider);
+        return annotation;
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.aslavchev.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bench - Warm-up, timing and allocation harness shared by the *Comparison benchmarks
+ * <p>
+ * Why: each comparison main() needs the same steps - run the variant to warm the JIT, run it
+ * again under a clock, read the bytes the thread allocated (com.sun.management.ThreadMXBean) -
+ * and a sink so the JIT cannot drop the work being timed.
+ * <p>
+ * Usage:
+ *   Bench.Result result = Bench.measure(warmups, iterations, () -> Bench.consume(parse(body)));
+ *   result.millisPerOp(), result.kbPerOp()
+ */
+public final class Bench {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long sink;
+
+    private Bench() {
+    }
+
+    /**
+     * Time and allocation of one operation, averaged over the measured iterations
+     */
+    public record Result(double nanosPerOp, double bytesPerOp) {
+
+        public double microsPerOp() {
+            return nanosPerOp / 1_000.0;
+        }
+
+        public double millisPerOp() {
+            return nanosPerOp / 1_000_000.0;
+        }
+
+        public double kbPerOp() {
+            return bytesPerOp / 1024.0;
+        }
+
+        public double mbPerOp() {
+            return bytesPerOp / 1048576.0;
+        }
+    }
+
+    /**
+     * Runs the operation warmups times, then times iterations more runs on this thread
+     */
+    public static Result measure(int warmups, int iterations, Runnable operation) {
+        for (int i = 0; i < warmups; i++) {
+            operation.run();
+        }
+        long thread = Thread.currentThread().threadId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+        return new Result((double) elapsed / iterations, (double) allocated / iterations);
+    }
+
+    /**
+     * Keeps the JIT from dropping the work that produced the value
+     */
+    public static void consume(long value) {
+        sink += value;
+    }
+
+    public static void consume(Object value) {
+        sink += value == null ? 0 : value.hashCode();
+    }
+
+    /**
+     * Heap in use after a few full GCs - a baseline for what a result keeps reachable
+     */
+    public static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.aslavchev.metrics;
+
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for LatencyHistogram bucket and percentile math
+ */
+public class LatencyHistogramTest {
+
+    @Test(groups = {"unit"})
+    public void valuesBelow128AreExact() {
+        for (long value = 0; value < 128; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat("Bucket of " + value, index, is((int) value));
+            assertThat("Upper bound of " + value, LatencyHistogram.bucketUpperBound(index), is(value));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void bucketBoundsContainValueWithinOneSixtyFourth() {
+        int previousIndex = -1;
+        for (long value = 0; value < 5_000_000; value += value < 10_000 ? 1 : 997) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertThat("Indices never go down (" + value + ")", index, greaterThanOrEqualTo(previousIndex));
+            assertThat("Upper bound covers " + value, upper, greaterThanOrEqualTo(value));
+            assertThat("Upper bound of " + value + " within 1/64", (double) (upper - value), lessThanOrEqualTo(value / 64.0));
+            previousIndex = index;
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void powerOfTwoBoundariesStartNewBuckets() {
+        for (int bit = 7; bit < 62; bit++) {
+            long power = 1L << bit;
+            assertThat("2^" + bit + " starts a bucket",
+                    LatencyHistogram.bucketIndex(power), is(LatencyHistogram.bucketIndex(power - 1) + 1));
+            assertThat("Last bucket below 2^" + bit + " ends at 2^" + bit + " - 1",
+                    LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(power - 1)), is(power - 1));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void percentilesOfUniformSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.recordMicros(micros);
+        }
+
+        assertThat(histogram.count(), is(10_000L));
+        assertThat((double) histogram.percentileMicros(50), closeTo(5_000, 5_000 / 64.0));
+        assertThat((double) histogram.percentileMicros(99), closeTo(9_900, 9_900 / 64.0));
+        assertThat("p100 is the max, not a bucket bound", histogram.percentileMicros(100), is(10_000L));
+        assertThat(histogram.maxMicros(), is(10_000L));
+    }
+
+    @Test(groups = {"unit"})
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.percentileMicros(99), is(0L));
+        assertThat(histogram.toMap().get("meanMs"), is(0.0));
+    }
+
+    @Test(groups = {"unit"})
+    public void negativeSamplesAreClampedToZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(-5);
+
+        assertThat(histogram.count(), is(1L));
+        assertThat(histogram.percentileMicros(100), is(0L));
+    }
+
+    @Test(groups = {"unit"})
+    public void addMergesCountsAndMax() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.recordMicros(10);
+        b.recordMicros(20);
+        b.recordNanos(3_000_000);
+
+        a.add(b);
+
+        assertThat(a.count(), is(3L));
+        assertThat(a.maxMicros(), is(3_000L));
+        assertThat(a.percentileMicros(50), is(20L));
+    }
+
+    @Test(groups = {"unit"})
+    public void toMapReportsMilliseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(1_500);
+        histogram.recordMicros(2_500);
+
+        Map<String, Object> map = histogram.toMap();
+
+        assertThat(map.get("count"), is(2L));
+        assertThat(map.get("meanMs"), is(2.0));
+        assertThat(map.get("maxMs"), is(2.5));
+        assertThat(map.get("totalMs"), is(4.0));
+    }
+}
@@ -0,0 +1,424 @@
+package io.github.aslavchev.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.aslavchev.stub.StubCatalog.Category;
+import io.github.aslavchev.stub.StubCatalog.Product;
+import io.github.aslavchev.stub.StubPages.Line;
+import io.github.aslavchev.utils.CsvReader;
+import io.github.aslavchev.utils.UserData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * LocalSite - Offline stand-in for automationexercise.com
+ * <p>
+ * Serves recorded HTML for the pages the page objects drive (/, /products, /category_products,
+ * /product_details, /view_cart, /checkout, /payment, /login) and the /api/* endpoints the API
+ * tests call, from the JDK's built-in HttpServer with one virtual thread per request.
+ * <p>
+ * Why: every test was bounded by a public site plus its ads and consent popup, and nothing
+ * ran offline. Against this server the suite runs at local speed and timings are repeatable,
+ * which is what the scaling and command-latency reports need for comparisons.
+ * <p>
+ * State lives in memory for the life of the server, like the real site's database:
+ * - sessions (sessionid + csrftoken cookies), issued on first visit
+ * - carts: per account once logged in, per session for guests
+ * - accounts: every row of testdata/user-data.csv, all with password {@link #PASSWORD}
+ * <p>
+ * Started for a suite by LocalSiteListener (-Dsite=local). For manual exploration
+ * run {@link #main(String[])} from the IDE and open the printed URL.
+ */
+public final class LocalSite {
+
+    /**
+     * Password of every account the local site knows
+     */
+    public static final String PASSWORD = "local-site-password";
+
+    private static final String SESSION_COOKIE = "sessionid";
+    private static final String CSRF_COOKIE = "csrftoken";
+    private static final String JSON_AS_HTML = "text/html; charset=utf-8"; // the live API labels JSON as HTML
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    static {
+        // The JDK server leaves Nagle on: on a keep-alive connection each response then stalls
+        // ~40 ms on the client's delayed ACK. Read once, when the first HttpServer is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final StubCatalog catalog = StubCatalog.load();
+    private final StubPages pages = new StubPages();
+    private final Map<String, UserData> accounts = loadAccounts();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, Integer>> carts = new ConcurrentHashMap<>();
+
+    private LocalSite(HttpServer server) {
+        this.server = server;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Start the server on the loopback interface
+     *
+     * @param port Port to listen on, 0 for any free port
+     */
+    public static LocalSite start(int port) {
+        try {
+            LocalSite site = new LocalSite(HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0));
+            site.server.start();
+            return site;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start local site on port " + port, e);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LocalSite site = start(args.length > 0 ? Integer.parseInt(args[0]) : 8080);
+        System.out.println("🏠 Local site running at " + site.baseUrl() + " - Ctrl+C to stop");
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Base URL to use as -Dbase.url (no trailing slash)
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Emails of all accounts that can log in (password: {@link #PASSWORD})
+     */
+    public List<String> accountEmails() {
+        return List.copyOf(accounts.keySet());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // ==================== REQUEST HANDLING ====================
+
+    private record Reply(int status, String contentType, String body, String location) {
+
+        static Reply html(String body) {
+            return new Reply(200, "text/html; charset=utf-8", body, null);
+        }
+
+        static Reply json(ObjectNode body) {
+            return new Reply(200, JSON_AS_HTML, body.toString(), null);
+        }
+
+        static Reply redirect(String location) {
+            return new Reply(302, null, "", location);
+        }
+    }
+
+    private static final class Session {
+        final String id = UUID.randomUUID().toString().replace("-", "");
+        final String csrfToken = UUID.randomUUID().toString().replace("-", "");
+        volatile String email; // null while logged out
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, String> cookies = cookies(exchange);
+            Session session = sessions.get(cookies.getOrDefault(SESSION_COOKIE, ""));
+            if (session == null) {
+                session = new Session();
+                sessions.put(session.id, session);
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + session.id + "; Path=/; HttpOnly; SameSite=Lax");
+                exchange.getResponseHeaders().add("Set-Cookie", CSRF_COOKIE + "=" + session.csrfToken + "; Path=/; SameSite=Lax");
+            }
+
+            Reply reply;
+            try {
+                String path = exchange.getRequestURI().getPath();
+                reply = path.startsWith("/api/") ? api(exchange, path) : page(exchange, path, session);
+            } catch (RuntimeException e) {
+                reply = new Reply(500, "text/plain; charset=utf-8", "Local site error: " + e, null);
+            }
+            send(exchange, reply);
+        }
+    }
+
+    private Reply page(HttpExchange exchange, String path, Session session) throws IOException {
+        String[] parts = path.split("/");
+        String section = parts.length > 1 ? parts[1] : "";
+        int id = parts.length > 2 ? parseId(parts[2]) : -1;
+        boolean post = "POST".equals(exchange.getRequestMethod());
+
+        switch (section) {
+            case "" -> {
+                return page(session, "", pages.products("Features Items", "", catalog.all(), catalog.categories()));
+            }
+            case "products" -> {
+                String search = query(exchange).get("search");
+                return search == null
+                        ? page(session, "All Products", pages.products("All Products", "", catalog.all(), catalog.categories()))
+                        : page(session, "All Products", pages.products("Searched Products", search, catalog.search(search), catalog.categories()));
+            }
+            case "category_products" -> {
+                Category category = catalog.category(id);
+                if (category == null) {
+                    return notFound(session, path);
+                }
+                String heading = category.usertype() + " - " + category.name() + " Products";
+                return page(session, heading, pages.products(heading, "", catalog.inCategory(category), catalog.categories()));
+            }
+            case "product_details" -> {
+                Product product = catalog.product(id);
+                return product == null ? notFound(session, path) : page(session, "Product Details", pages.productDetails(product));
+            }
+            case "add_to_cart" -> {
+                if (catalog.product(id) == null) {
+                    return notFound(session, path);
+                }
+                int quantity = Math.max(1, parseId(query(exchange).getOrDefault("quantity", "1")));
+                cart(session).merge(id, quantity, Integer::sum);
+                return Reply.html("Added To Cart");
+            }
+            case "delete_cart" -> {
+                cart(session).remove(id);
+                return Reply.html("Removed From Cart");
+            }
+            case "view_cart" -> {
+                return page(session, "Checkout", pages.cart(lines(session)));
+            }
+            case "checkout" -> {
+                UserData user = user(session);
+                return user == null ? Reply.redirect("/login") : page(session, "Checkout", pages.checkout(user, lines(session)));
+            }
+            case "payment" -> {
+                if (user(session) == null) {
+                    return Reply.redirect("/login");
+                }
+                if (!post) {
+                    return page(session, "Payment", pages.payment(session.csrfToken));
+                }
+                int amount = lines(session).stream().mapToInt(Line::total).sum();
+                cart(session).clear();
+                return Reply.redirect("/payment_done/" + amount);
+            }
+            case "payment_done" -> {
+                return page(session, "Order Placed", pages.paymentDone(Math.max(0, id)));
+            }
+            case "download_invoice" -> {
+                return new Reply(200, "text/plain; charset=utf-8", "Invoice - total purchase amount: " + id, null);
+            }
+            case "login" -> {
+                if (!post) {
+                    return page(session, "Signup / Login", pages.login(session.csrfToken, false));
+                }
+                Map<String, String> form = form(exchange);
+                if (authenticate(form.get("email"), form.get("password"))) {
+                    session.email = form.get("email");
+                    return Reply.redirect("/");
+                }
+                return page(session, "Signup / Login", pages.login(session.csrfToken, true));
+            }
+            case "logout" -> {
+                session.email = null;
+                return Reply.redirect("/login");
+            }
+            default -> {
+                return notFound(session, path);
+            }
+        }
+    }
+
+    /**
+     * /api/* - same paths, response codes and messages as the live API (HTTP 200, JSON body as text/html)
+     */
+    private Reply api(HttpExchange exchange, String path) throws IOException {
+        boolean post = "POST".equals(exchange.getRequestMethod());
+        ObjectNode body = JSON.createObjectNode();
+
+        switch (path) {
+            case "/api/productsList" -> {
+                if (post) {
+                    return methodNotSupported(body);
+                }
+                body.put("responseCode", 200);
+                ArrayNode products = body.putArray("products");
+                catalog.all().forEach(p -> products.add(p.json()));
+            }
+            case "/api/brandsList" -> {
+                if (post) {
+                    return methodNotSupported(body);
+                }
+                body.put("responseCode", 200);
+                ArrayNode brands = body.putArray("brands");
+                catalog.all().forEach(p -> brands.addObject().put("id", p.id()).put("brand", p.brand()));
+            }
+            case "/api/searchProduct" -> {
+                String term = post ? form(exchange).get("search_product") : null;
+                if (term == null) {
+                    body.put("responseCode", 400);
+                    body.put("message", "Bad request, search_product parameter is missing in POST request.");
+                } else {
+                    body.put("responseCode", 200);
+                    ArrayNode products = body.putArray("products");
+                    catalog.search(term).forEach(p -> products.add(p.json()));
+                }
+            }
+            case "/api/verifyLogin" -> {
+                Map<String, String> form = post ? form(exchange) : Map.of();
+                if (form.get("email") == null || form.get("password") == null) {
+                    body.put("responseCode", 400);
+                    body.put("message", "Bad request, email or password parameter is missing in POST request.");
+                } else if (authenticate(form.get("email"), form.get("password"))) {
+                    body.put("responseCode", 200);
+                    body.put("message", "User exists!");
+                } else {
+                    body.put("responseCode", 404);
+                    body.put("message", "User not found!");
+                }
+            }
+            default -> {
+                body.put("responseCode", 404);
+                body.put("message", "API not found: " + path);
+            }
+        }
+        return Reply.json(body);
+    }
+
+    private static Reply methodNotSupported(ObjectNode body) {
+        body.put("responseCode", 405);
+        body.put("message", "This request method is not supported.");
+        return Reply.json(body);
+    }
+
+    private Reply page(Session session, String title, String content) {
+        UserData user = user(session);
+        return Reply.html(pages.layout(title, user == null ? null : user.username, content));
+    }
+
+    private Reply notFound(Session session, String path) {
+        Reply page = page(session, "Not Found", pages.notFound(path));
+        return new Reply(404, page.contentType(), page.body(), null);
+    }
+
+    // ==================== STATE ====================
+
+    private boolean authenticate(String email, String password) {
+        return email != null && accounts.containsKey(email) && PASSWORD.equals(password);
+    }
+
+    private UserData user(Session session) {
+        String email = session.email;
+        return email == null ? null : accounts.get(email);
+    }
+
+    /**
+     * Logged-in users keep their cart across sessions (like the live site); guests get one per session
+     */
+    private Map<Integer, Integer> cart(Session session) {
+        String email = session.email;
+        String key = email != null ? "user:" + email : "session:" + session.id;
+        return carts.computeIfAbsent(key, k -> Collections.synchronizedMap(new LinkedHashMap<>()));
+    }
+
+    private List<Line> lines(Session session) {
+        Map<Integer, Integer> cart = cart(session);
+        List<Line> lines = new ArrayList<>();
+        synchronized (cart) {
+            cart.forEach((id, quantity) -> lines.add(new Line(catalog.product(id), quantity)));
+        }
+        return lines;
+    }
+
+    private static Map<String, UserData> loadAccounts() {
+        try (CsvReader reader = CsvReader.openResource("testdata/user-data.csv")) {
+            Map<String, UserData> accounts = new LinkedHashMap<>();
+            for (UserData user : reader.readAll(UserData::from)) {
+                accounts.put(user.email, user);
+            }
+            return Collections.unmodifiableMap(accounts);
+        }
+    }
+
+    // ==================== HTTP HELPERS ====================
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        if (reply.location() != null) {
+            exchange.getResponseHeaders().set("Location", reply.location());
+        }
+        if (reply.contentType() != null) {
+            exchange.getResponseHeaders().set("Content-Type", reply.contentType());
+        }
+        byte[] bytes = reply.body().getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(reply.status(), bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    private static Map<String, String> cookies(HttpExchange exchange) {
+        Map<String, String> cookies = new HashMap<>();
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String pair : header.split(";")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    cookies.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+                }
+            }
+        }
+        return cookies;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        return decode(exchange.getRequestURI().getRawQuery());
+    }
+
+    private static Map<String, String> form(HttpExchange exchange) throws IOException {
+        return decode(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> decode(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            values.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static int parseId(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.aslavchev.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recorded product catalog served by LocalSite (classpath: stub-site/catalog.json)
+ * <p>
+ * "products" holds /api/productsList entries exactly as the live API returns them,
+ * so the API endpoints can echo the recorded JSON; "categories" maps the
+ * /category_products/{id} sidebar links to their labels.
+ */
+final class StubCatalog {
+
+    record Product(int id, String name, String price, String brand, String usertype, String category, JsonNode json) {
+
+        /**
+         * Price as a number ("Rs. 500" -> 500)
+         */
+        int amount() {
+            return Integer.parseInt(price.replaceAll("\\D", ""));
+        }
+
+        String categoryLabel() {
+            return usertype + " > " + category;
+        }
+    }
+
+    record Category(int id, String usertype, String name) {
+    }
+
+    // Insertion-ordered, never modified after load - safe to share between server threads
+    private final Map<Integer, Product> products;
+    private final Map<Integer, Category> categories;
+
+    private StubCatalog(Map<Integer, Product> products, Map<Integer, Category> categories) {
+        this.products = products;
+        this.categories = categories;
+    }
+
+    static StubCatalog load() {
+        try (InputStream in = StubCatalog.class.getClassLoader().getResourceAsStream("stub-site/catalog.json")) {
+            if (in == null) {
+                throw new IllegalStateException("stub-site/catalog.json not found on classpath");
+            }
+            JsonNode root = new ObjectMapper().readTree(in);
+
+            Map<Integer, Product> products = new LinkedHashMap<>();
+            for (JsonNode node : root.get("products")) {
+                JsonNode category = node.get("category");
+                products.put(node.get("id").asInt(), new Product(
+                        node.get("id").asInt(),
+                        node.get("name").asText(),
+                        node.get("price").asText(),
+                        node.get("brand").asText(),
+                        category.get("usertype").get("usertype").asText(),
+                        category.get("category").asText(),
+                        node));
+            }
+
+            Map<Integer, Category> categories = new LinkedHashMap<>();
+            for (JsonNode node : root.get("categories")) {
+                categories.put(node.get("id").asInt(), new Category(
+                        node.get("id").asInt(), node.get("usertype").asText(), node.get("category").asText()));
+            }
+            return new StubCatalog(products, categories);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read stub-site/catalog.json", e);
+        }
+    }
+
+    List<Product> all() {
+        return List.copyOf(products.values());
+    }
+
+    /**
+     * @return Product, or null if the id is not in the recording
+     */
+    Product product(int id) {
+        return products.get(id);
+    }
+
+    /**
+     * @return Category, or null if the id is not in the recording
+     */
+    Category category(int id) {
+        return categories.get(id);
+    }
+
+    /**
+     * Categories in sidebar order (as recorded)
+     */
+    List<Category> categories() {
+        return List.copyOf(categories.values());
+    }
+
+    List<Product> inCategory(Category category) {
+        return all().stream()
+                .filter(p -> p.usertype().equals(category.usertype()) && p.category().equals(category.name()))
+                .toList();
+    }
+
+    /**
+     * Case-insensitive match on name or category, like the live search
+     */
+    List<Product> search(String term) {
+        String needle = term.trim().toLowerCase(Locale.ROOT);
+        return all().stream()
+                .filter(p -> p.name().toLowerCase(Locale.ROOT).contains(needle)
+                        || p.category().toLowerCase(Locale.ROOT).contains(needle))
+                .toList();
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.aslavchev.stub;
+
+import io.github.aslavchev.stub.StubCatalog.Category;
+import io.github.aslavchev.stub.StubCatalog.Product;
+import io.github.aslavchev.utils.UserData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders LocalSite pages from the recorded templates in stub-site/*.html
+ * <p>
+ * Templates keep the ids, classes and data-qa attributes the page objects locate by;
+ * only repeated markup (product cards, cart rows, sidebar) is built here.
+ * Placeholders are {{name}}; values are inserted as-is, so callers escape text with {@link #escape(String)}.
+ */
+final class StubPages {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    /**
+     * One line of a cart or review-order table
+     */
+    record Line(Product product, int quantity) {
+        int total() {
+            return product.amount() * quantity;
+        }
+    }
+
+    String products(String heading, String search, List<Product> products, List<Category> categories) {
+        StringBuilder cards = new StringBuilder();
+        for (Product p : products) {
+            cards.append("""
+                    <div class="col-sm-4"><div class="product-image-wrapper">
+                        <div class="single-products"><div class="productinfo text-center">
+                            <h2>%s</h2><p>%s</p>
+                            <a href="#" data-product-id="%d" class="btn btn-default add-to-cart"><i class="fa fa-shopping-cart"></i>Add to cart</a>
+                        </div></div>
+                        <div class="choose"><ul class="nav nav-pills nav-justified">
+                            <li><a href="/product_details/%d"><i class="fa fa-plus-square"></i>View Product</a></li>
+                        </ul></div>
+                    </div></div>
+                    """.formatted(escape(p.price()), escape(p.name()), p.id(), p.id()));
+        }
+
+        Map<String, StringBuilder> panels = new LinkedHashMap<>();
+        for (Category c : categories) {
+            panels.computeIfAbsent(c.usertype(), k -> new StringBuilder())
+                    .append("<li><a href=\"/category_products/%d\">%s </a></li>".formatted(c.id(), escape(c.name())));
+        }
+        StringBuilder sidebar = new StringBuilder();
+        panels.forEach((usertype, links) -> sidebar.append("""
+                <div class="panel panel-default">
+                    <div class="panel-heading"><h4 class="panel-title">
+                        <a data-toggle="collapse" data-parent="#accordian" href="#%1$s"><span class="badge pull-right"><i class="fa fa-plus"></i></span>%1$s</a>
+                    </h4></div>
+                    <div id="%1$s" class="panel-collapse collapse"><div class="panel-body"><ul>%2$s</ul></div></div>
+                </div>
+                """.formatted(escape(usertype), links)));
+
+        return fill("products", Map.of(
+                "heading", escape(heading),
+                "search", escape(search),
+                "products", cards.toString(),
+                "categories", sidebar.toString()));
+    }
+
+    String productDetails(Product p) {
+        return fill("product_details", Map.of(
+                "id", String.valueOf(p.id()),
+                "name", escape(p.name()),
+                "category", escape(p.categoryLabel()),
+                "price", escape(p.price()),
+                "brand", escape(p.brand())));
+    }
+
+    String cart(List<Line> lines) {
+        StringBuilder rows = new StringBuilder();
+        for (Line line : lines) {
+            rows.append(row(line, true));
+        }
+        return fill("view_cart", Map.of(
+                "rows", rows.toString(),
+                "emptyStyle", lines.isEmpty() ? "display: block;" : ""));
+    }
+
+    String checkout(UserData user, List<Line> lines) {
+        StringBuilder rows = new StringBuilder();
+        int total = 0;
+        for (Line line : lines) {
+            rows.append(row(line, false));
+            total += line.total();
+        }
+        // Company and second address line are empty for test accounts - the street is the middle row
+        String address = """
+                <li class="address_firstname address_lastname">%s</li>
+                <li class="address_address1 address_address2"></li>
+                <li class="address_address1 address_address2">%s</li>
+                <li class="address_address1 address_address2"></li>
+                <li class="address_city address_state_name address_postcode">%s</li>
+                <li class="address_country_name">%s</li>
+                <li class="address_phone">%s</li>
+                """.formatted(escape(user.fullName), escape(user.street), escape(user.cityStatePostcode),
+                escape(user.country), escape(user.phone));
+        return fill("checkout", Map.of(
+                "address", address,
+                "rows", rows.toString(),
+                "total", "Rs. " + total));
+    }
+
+    String payment(String csrfToken) {
+        return fill("payment", Map.of("csrf", escape(csrfToken)));
+    }
+
+    String paymentDone(int amount) {
+        return fill("payment_done", Map.of("amount", String.valueOf(amount)));
+    }
+
+    String login(String csrfToken, boolean failed) {
+        return fill("login", Map.of(
+                "csrf", escape(csrfToken),
+                "error", failed ? "<p style=\"color: red;\">Your email or password is incorrect!</p>" : ""));
+    }
+
+    String notFound(String path) {
+        return fill("not_found", Map.of("path", escape(path)));
+    }
+
+    /**
+     * Wrap page content in the shared header, cart modal and footer
+     *
+     * @param username Logged-in user's display name, or null for a guest
+     */
+    String layout(String title, String username, String content) {
+        String account = username == null
+                ? "<li><a href=\"/login\"><i class=\"fa fa-lock\"></i> Signup / Login</a></li>"
+                : "<li><a href=\"/logout\"><i class=\"fa fa-lock\"></i> Logout</a></li>"
+                + "<li><a><i class=\"fa fa-user\"></i> Logged in as <b>" + escape(username) + "</b></a></li>";
+        return fill("layout", Map.of(
+                "title", title.isEmpty() ? "" : " - " + escape(title),
+                "account", account,
+                "content", content));
+    }
+
+    static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String row(Line line, boolean deletable) {
+        Product p = line.product();
+        return """
+                <tr id="product-%d">
+                    <td class="cart_product"></td>
+                    <td class="cart_description"><h4><a href="/product_details/%d">%s</a></h4><p>%s</p></td>
+                    <td class="cart_price"><p>%s</p></td>
+                    <td class="cart_quantity"><button class="disabled">%d</button></td>
+                    <td class="cart_total"><p class="cart_total_price">Rs. %d</p></td>
+                    %s
+                </tr>
+                """.formatted(p.id(), p.id(), escape(p.name()), escape(p.categoryLabel()),
+                escape(p.price()), line.quantity(), line.total(),
+                deletable
+                        ? "<td class=\"cart_delete\"><a href=\"\" class=\"cart_quantity_delete\" data-product-id=\"" + p.id()
+                        + "\"><i class=\"fa fa-times\"></i></a></td>"
+                        : "");
+    }
+
+    private String fill(String name, Map<String, String> values) {
+        Matcher matcher = PLACEHOLDER.matcher(template(name));
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            String value = values.get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalStateException("No value for {{" + matcher.group(1) + "}} in " + name + ".html");
+            }
+            matcher.appendReplacement(out, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, key -> {
+            String resource = "stub-site/" + key + ".html";
+            try (InputStream in = StubPages.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalStateException(resource + " not found on classpath");
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read " + resource, e);
+            }
+        });
+    }
+}
@@ -1,169 +1,119 @@
 package io.github.aslavchev.ui;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.aslavchev.config.SiteConfig;
+import io.github.aslavchev.driver.DriverContext;
+import io.github.aslavchev.driver.DriverPool;
+import io.github.aslavchev.metrics.CommandMetrics;
+import io.github.aslavchev.utils.CredentialPool;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.remote.RemoteWebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 
-import java.net.URL;
-import java.time.Duration;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
 
 /**
  * BaseTest - Foundation for all test classes
  *
  * Manages WebDriver lifecycle and provides common test utilities:
- * - WebDriverManager handles driver binaries automatically
- * - @BeforeMethod ensures test independence (fresh browser per test)
+ * - DriverPool hands out warm sessions (-Ddriver.mode=pooled, default)
+ *   or a fresh browser per test (-Ddriver.mode=fresh)
+ * - Driver is owned by the test thread via DriverContext (safe for -Dthreads=N)
+ * - Sessions are reset between tests; failed, skipped and retried tests evict their session
+ * - Test account leased via TestConfig is returned to CredentialPool after each test
  * - Screenshot captured on failure and attached to Allure report
+ * - WebDriver command latencies (per command / page method) attached to Allure per test
  */
 public class BaseTest {
 
-    protected WebDriver driver;
-    protected static final String BASE_URL = "https://automationexercise.com";
+    /**
+     * Base URL of the site under test (-Dbase.url, see SiteConfig)
+     */
+    protected static String baseUrl() {
+        return SiteConfig.baseUrl();
+    }
 
     @BeforeMethod
-    public void setUp() {
-        // Execution mode: -Dexecution=local/grid (default: local)
-        String execution = System.getProperty("execution", "local").toLowerCase();
-
-        // Browser selection via system property: -Dbrowser=chrome/firefox
-        String browser = System.getProperty("browser", "chrome").toLowerCase();
+    public void setUp(Method method, Object[] parameters) {
+        // Execution mode (-Dexecution), browser (-Dbrowser) and pool mode (-Ddriver.mode)
+        // are resolved by DriverFactory / DriverPool
+        DriverContext.setDriver(DriverPool.acquire());
+
+        // Started after acquire so session boot/warm-up isn't charged to the test
+        // Data-driven rows are keyed by their parameters, so each row keeps its own summary;
+        // a retry of the same row replaces the earlier attempt
+        CommandMetrics.startTest(method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + (parameters.length == 0 ? "" : Arrays.toString(parameters)));
+    }
 
-        // Detect CI environment (GitHub Actions sets CI=true)
-        boolean isCI = System.getenv("CI") != null;
 
-        // Grid execution mode
-        if ("grid".equals(execution)) {
-            setupGridDriver(browser);
-            System.out.println("🌐 Browser: " + browser + " (Grid)");
-            handleConsentPopup();
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        CredentialPool.release();
+        if (!DriverContext.hasDriver()) {
             return;
         }
 
-        // Local execution mode
-        switch (browser) {
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-
-                if (isCI) {
-                    firefoxOptions.addArguments("--headless");
-                    firefoxOptions.addArguments("--no-sandbox");
-                    firefoxOptions.addArguments("--disable-dev-shm-usage");
-                    firefoxOptions.addArguments("--window-size=1920,1080");
-                }
-
-                firefoxOptions.addPreference("dom.webnotifications.enabled", false);
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-
-            case "chrome":
-            default:
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-
-                if (isCI) {
-                    chromeOptions.addArguments("--headless=new");
-                    chromeOptions.addArguments("--no-sandbox");
-                    chromeOptions.addArguments("--disable-dev-shm-usage");
-                    chromeOptions.addArguments("--disable-gpu");
-                    chromeOptions.addArguments("--window-size=1920,1080");
-                }
-
-                chromeOptions.addArguments("--disable-notifications");
-                chromeOptions.addArguments("--start-maximized");
-                driver = new ChromeDriver(chromeOptions);
-                break;
+        // A retried attempt is reported as SKIP (wasRetried), not FAILURE - it still failed
+        if (result.getStatus() == ITestResult.FAILURE || result.wasRetried()) {
+            captureScreenshot(result.getName());
         }
+        attachCommandMetrics(CommandMetrics.finishTest());
 
-        System.out.println("🌐 Browser: " + browser + " (Local)");
-
-        // Handle consent popup if it appears
-        handleConsentPopup();
-
+        try {
+            // Never hand a possibly broken browser to the next test (or to the rerun)
+            DriverPool.release(driver(), keepsSession(result.getStatus()));
+        } finally {
+            DriverContext.clear();
+        }
     }
 
+    /**
+     * Whether a test that ended with the given ITestResult status leaves a session worth reusing.
+     * Only SUCCESS does: retried attempts end as SKIP, and those are the timeouts, stale elements
+     * and driver errors most likely to leave the browser in a bad state.
+     */
+    static boolean keepsSession(int status) {
+        return status == ITestResult.SUCCESS;
+    }
 
-    @AfterMethod
-    public void tearDown(ITestResult result) {
-        if (result.getStatus() == ITestResult.FAILURE) {
-            captureScreenshot(result.getName());
-        }
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        DriverPool.shutdown();
+    }
 
-        if (driver != null) {
-            try {
-                driver.quit();
-            } catch (WebDriverException e) {
-                // Log but don't fail the test - driver cleanup issue
-                System.err.println("⚠️  WebDriver quit timeout: " + e.getMessage());
-                // Attempt to null out the driver reference anyway
-            } finally {
-                driver = null;
-            }
-        }
+    /**
+     * WebDriver owned by the current test thread
+     */
+    protected WebDriver driver() {
+        return DriverContext.getDriver();
     }
 
     @Attachment(value = "Screenshot: {testName}", type = "image/png")
     public byte[] captureScreenshot(String testName) {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-    }
-
-    protected void navigateToHomePage() {
-        driver.get(BASE_URL);
+        return ((TakesScreenshot) driver()).getScreenshotAs(OutputType.BYTES);
     }
 
-    private void handleConsentPopup() {
+    private void attachCommandMetrics(Map<String, Object> summary) {
+        if (summary == null) {
+            return;
+        }
         try {
-            // Navigate to any page first
-            driver.get(BASE_URL);
-
-            // Wait for consent button and click it
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            WebElement consentButton = wait.until(
-                    ExpectedConditions.elementToBeClickable(
-                            By.cssSelector("button.fc-button.fc-cta-consent.fc-primary-button")
-                    )
-            );
-            consentButton.click();
-
-        } catch (Exception e) {
-            // If not found, remove popup
-            ((JavascriptExecutor) driver).executeScript(
-                    "document.querySelectorAll('.fc-dialog, .fc-dialog-overlay, .fc-consent-root').forEach(e => e.remove());"
-            );
+            Allure.addAttachment("WebDriver commands", "application/json",
+                    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(summary), ".json");
+        } catch (JsonProcessingException e) {
+            System.err.println("⚠️  Could not attach WebDriver command metrics: " + e.getMessage());
         }
     }
 
-    private void setupGridDriver(String browser) {
-        try {
-            String gridUrl = System.getProperty("grid.url", "http://localhost:4444");
-
-            switch (browser) {
-                case "firefox":
-                    FirefoxOptions firefoxOptions = new FirefoxOptions();
-                    firefoxOptions.addPreference("dom.webnotifications.enabled", false);
-                    driver = new RemoteWebDriver(new URL(gridUrl), firefoxOptions);
-                    break;
-
-                case "chrome":
-                default:
-                    ChromeOptions chromeOptions = new ChromeOptions();
-                    chromeOptions.addArguments("--disable-notifications");
-                    chromeOptions.addArguments("--start-maximized");
-                    driver = new RemoteWebDriver(new URL(gridUrl), chromeOptions);
-                    break;
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to connect to Selenium Grid: " + e.getMessage(), e);
-        }
+    protected void navigateToHomePage() {
+        driver().get(baseUrl());
     }
 }
@@ -1,6 +1,8 @@
 package io.github.aslavchev.ui;
 
+import io.github.aslavchev.api.CartSeeder;
 import io.github.aslavchev.data.ProductDataProvider;
+import io.github.aslavchev.ui.pages.CartLine;
 import io.github.aslavchev.ui.pages.CartPage;
 import io.github.aslavchev.ui.pages.ProductDetailsPage;
 import io.github.aslavchev.ui.pages.ProductsPage;
@@ -9,6 +11,8 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 /**
  * CartTests - Test suite for shopping cart functionality
  * Test Cases: 12, 13, 17
@@ -19,24 +23,23 @@ public class CartTests extends BaseTest {
     public void addMultipleProductsToCartAndVerify(String testName, String product1, String product2) {
         // Arrange
         // Products are now passed as parameters from DataProvider
-        ProductsPage productsPage = new ProductsPage(driver);
-        productsPage.navigateProducts();
 
         // Act
-        productsPage.addProductToCartByName(product1);
-        productsPage.clickContinueShopping();
-        productsPage.addProductToCartByName(product2);
-        CartPage cartPage = productsPage.clickViewCart();
+        CartPage cartPage = addProductsToCart(product1, product2);
 
 
-        // Assert - Verify both products are in cart with correct details
-        Assert.assertEquals(cartPage.getCartItemCount(), 2, "Cart should contain 2 products");
-        Assert.assertTrue(cartPage.getProductNames().contains(product1), "Cart should contain " + product1);
-        Assert.assertTrue(cartPage.getProductNames().contains(product2), "Cart should contain " + product2);
+        // Assert - Verify both products are in cart with correct details (one table read)
+        List<CartLine> lines = cartPage.getCartLines();
+        List<String> names = lines.stream().map(CartLine::name).toList();
+        Assert.assertEquals(lines.size(), 2, "Cart should contain 2 products");
+        Assert.assertTrue(names.contains(product1), "Cart should contain " + product1);
+        Assert.assertTrue(names.contains(product2), "Cart should contain " + product2);
 
-        Assert.assertEquals(cartPage.getProductQuantities().size(), 2, "Should have 2 quantities");
-        Assert.assertEquals(cartPage.getProductPrices().size(), 2, "Should have 2 prices");
-        Assert.assertEquals(cartPage.getProductTotals().size(), 2, "Should have 2 totals");
+        for (CartLine line : lines) {
+            Assert.assertFalse(line.quantity().isEmpty(), "Quantity shown for " + line.name());
+            Assert.assertFalse(line.price().isEmpty(), "Price shown for " + line.name());
+            Assert.assertFalse(line.total().isEmpty(), "Total shown for " + line.name());
+        }
     }
 
     @Test(groups = {"regression", "ui"})
@@ -44,8 +47,8 @@ public class CartTests extends BaseTest {
     public void verifyCustomQuantityInCart() {
         //Arrange
         int expectedQuantity = 4;
-        ProductDetailsPage detailsPage = new ProductDetailsPage(driver);
-        driver.get(BASE_URL + "/product_details/1");
+        ProductDetailsPage detailsPage = new ProductDetailsPage();
+        driver().get(baseUrl() + "/product_details/1");
 
         //Act
         detailsPage.setQuantity(expectedQuantity);
@@ -60,7 +63,7 @@ public class CartTests extends BaseTest {
     @Description("Test Case 17: Remove product from cart")
     public void removeProductFromCartAndVerifyEmpty() {
         //Arrange
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage();
         productsPage.navigateProducts();
         productsPage.addFirstProductToCart();
         CartPage cartPage = productsPage.clickViewCart();
@@ -74,6 +77,15 @@ public class CartTests extends BaseTest {
         Assert.assertTrue(cartPage.isCartEmpty(), "Cart should be empty after removal");
     }
 
+    /**
+     * Put products into the cart and open it
+     * Why: this test asserts on cart contents, not on the products page - seed over HTTP
+     * by default, -Dcart.setup=ui uses the products page (timers cart.setup.api / cart.setup.ui)
+     */
+    private CartPage addProductsToCart(String product1, String product2) {
+        return CartSeeder.openCartWith(driver(), product1, product2);
+    }
+
     // ==================================
     // 🔽 DATA PROVIDER AT THE BOTTOM 🔽
     // ==================================
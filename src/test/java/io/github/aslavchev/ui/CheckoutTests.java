@@ -1,7 +1,9 @@
 package io.github.aslavchev.ui;
 
+import io.github.aslavchev.api.CartSeeder;
 import io.github.aslavchev.data.ProductDataProvider;
 import io.github.aslavchev.ui.pages.*;
+import io.github.aslavchev.utils.Address;
 import io.github.aslavchev.utils.TestConfig;
 import io.github.aslavchev.utils.TestDataReader;
 import io.github.aslavchev.utils.UserData;
@@ -10,6 +12,8 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.testng.asserts.SoftAssert;
 
+import java.util.Iterator;
+
 public class CheckoutTests extends BaseTest {
     @Test(groups = {"e2e", "regression", "critical", "ui", "slow"}, dataProvider = "checkoutData")
     @Description("Test Case 16: Place Order: Login before Checkout (Data-Driven)")
@@ -32,63 +36,53 @@ public class CheckoutTests extends BaseTest {
         SoftAssert soft = new SoftAssert();
 
         // ===== ACT: LOGIN =====
-        new LoginPage(driver)
-                .navigateToLogin()
-                .login(email, password)
-                .waitForLoginSuccess();
+        // Login itself is covered by LoginTests - reuse the account's session when cached
+        new LoginPage()
+                .loginWithCachedSession(email, password);
 
         // ===== ACT: ADD PRODUCT TO CART =====
-        new ProductsPage(driver)
-                .navigateProducts()
-                .addProductToCartByName(productName);
+        // Cart contents are asserted on the checkout page - seed over HTTP with the session
+        // (-Dcart.setup=ui adds via the products page instead)
+        CartPage cartPage = CartSeeder.openCartWith(driver(), productName);
 
         // ===== ACT: PROCEED TO CHECKOUT =====
-        CartPage cartPage = new ProductsPage(driver).clickViewCart();
         cartPage.clickProceedToCheckout();
 
-        CheckoutPage checkoutPage = new CheckoutPage(driver);
+        CheckoutPage checkoutPage = new CheckoutPage();
+
 
+        // Both address blocks in one read
+        CheckoutPage.Addresses addresses = checkoutPage.getAddresses();
+        Address expectedAddress = expectedUser.toAddress();
 
         /// ===== ASSERT: VERIFY DELIVERY ADDRESS =====
-        String actualDeliveryFullName = checkoutPage.getDeliveryFullName();
-        String actualDeliveryStreet = checkoutPage.getDeliveryStreet();
-        String actualDeliveryCityStatePostcode = checkoutPage.getDeliveryCityStatePostcode();
-        String actualDeliveryCountry = checkoutPage.getDeliveryCountry();
-        String actualDeliveryPhone = checkoutPage.getDeliveryPhone();
-
-        soft.assertEquals(actualDeliveryFullName, expectedUser.fullName, "Delivery: Full Name");
-        soft.assertEquals(actualDeliveryStreet, expectedUser.street, "Delivery: Street");
-        soft.assertEquals(actualDeliveryCityStatePostcode, expectedUser.cityStatePostcode, "Delivery: City/State/Postcode");
-        soft.assertEquals(actualDeliveryCountry, expectedUser.country, "Delivery: Country");
-        soft.assertEquals(actualDeliveryPhone, expectedUser.phone, "Delivery: Phone");
+        Address delivery = addresses.delivery();
+        soft.assertEquals(delivery.fullName(), expectedAddress.fullName(), "Delivery: Full Name");
+        soft.assertEquals(delivery.street(), expectedAddress.street(), "Delivery: Street");
+        soft.assertEquals(delivery.cityStatePostcode(), expectedAddress.cityStatePostcode(), "Delivery: City/State/Postcode");
+        soft.assertEquals(delivery.country(), expectedAddress.country(), "Delivery: Country");
+        soft.assertEquals(delivery.phone(), expectedAddress.phone(), "Delivery: Phone");
 
         // ===== ASSERT: VERIFY BILLING ADDRESS =====
-        String actualBillingFullName = checkoutPage.getBillingFullName();
-        String actualBillingStreet = checkoutPage.getBillingStreet();
-        String actualBillingCityStatePostcode = checkoutPage.getBillingCityStatePostcode();
-        String actualBillingCountry = checkoutPage.getBillingCountry();
-        String actualBillingPhone = checkoutPage.getBillingPhone();
-
-        soft.assertEquals(actualBillingFullName, expectedUser.fullName, "Billing: Full Name");
-        soft.assertEquals(actualBillingStreet, expectedUser.street, "Billing: Street");
-        soft.assertEquals(actualBillingCityStatePostcode, expectedUser.cityStatePostcode, "Billing: City/State/Postcode");
-        soft.assertEquals(actualBillingCountry, expectedUser.country, "Billing: Country");
-        soft.assertEquals(actualBillingPhone, expectedUser.phone, "Billing: Phone");
+        Address billing = addresses.billing();
+        soft.assertEquals(billing.fullName(), expectedAddress.fullName(), "Billing: Full Name");
+        soft.assertEquals(billing.street(), expectedAddress.street(), "Billing: Street");
+        soft.assertEquals(billing.cityStatePostcode(), expectedAddress.cityStatePostcode(), "Billing: City/State/Postcode");
+        soft.assertEquals(billing.country(), expectedAddress.country(), "Billing: Country");
+        soft.assertEquals(billing.phone(), expectedAddress.phone(), "Billing: Phone");
 
         // ===== ASSERT: VERIFY ORDER SUMMARY =====
-        var names = checkoutPage.getProductNames();
-        var prices = checkoutPage.getProductPrices();
-        var quantities = checkoutPage.getProductQuantities();
-        var totals = checkoutPage.getProductTotals();
+        var lines = checkoutPage.getCartLines();
 
         // Verify at least one product exists
-        soft.assertTrue(names.size() > 0, "Cart should contain at least one product");
+        soft.assertTrue(lines.size() > 0, "Cart should contain at least one product");
 
         // Extract actual values
-        String actualProductName = names.get(0);
-        String actualProductPrice = prices.get(0);
-        String actualProductQuantity = quantities.get(0);
-        String actualProductTotal = totals.get(0);
+        CartLine firstLine = lines.get(0);
+        String actualProductName = firstLine.name();
+        String actualProductPrice = firstLine.price();
+        String actualProductQuantity = firstLine.quantity();
+        String actualProductTotal = firstLine.total();
         String actualOverallTotal = checkoutPage.getOverallTotal();
 
         // Verify product details
@@ -105,7 +99,7 @@ public class CheckoutTests extends BaseTest {
 
 
         /// ===== ACT: ENTER PAYMENT DETAILS =====
-        OrderConfirmationPage confirmation = new PaymentPage(driver)
+        OrderConfirmationPage confirmation = new PaymentPage()
                 .enterPaymentDetails(cardName, cardNumber, cvc, expiryMonth, expiryYear)
                 .clickPayAndConfirm();
 
@@ -122,8 +116,8 @@ public class CheckoutTests extends BaseTest {
     // 🔽 DATA PROVIDER AT THE BOTTOM 🔽
     // ==================================
     @DataProvider(name = "checkoutData")
-    public Object[][] getCheckoutData() {
-        return TestDataReader.readCheckoutPaymentData(
+    public Iterator<Object[]> getCheckoutData() {
+        return TestDataReader.streamCheckoutPaymentData(
                 "checkout-payment.csv",
                 ProductDataProvider::getProductPrice);
     }
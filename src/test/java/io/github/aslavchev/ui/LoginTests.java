@@ -20,7 +20,7 @@ public class LoginTests extends BaseTest {
         String password = TestConfig.password();
 
         // Act
-        LoginPage loginPage = new LoginPage(driver)
+        LoginPage loginPage = new LoginPage()
                 .navigateToLogin()
                 .login(email, password)
                 .waitForLoginSuccess();
@@ -38,7 +38,7 @@ public class LoginTests extends BaseTest {
         String email = TestConfig.email();
 
         // Act
-        LoginPage loginPage = new LoginPage(driver)
+        LoginPage loginPage = new LoginPage()
                 .navigateToLogin()
                 .login(email, "wrongpassword123")
                 .waitForErrorMessage();
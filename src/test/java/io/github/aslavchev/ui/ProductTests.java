@@ -12,7 +12,7 @@ public class ProductTests extends BaseTest {
     @Description("Test Case 8: Verify All Products page navigation")
     public void navigateToAllProductsPageSuccessfully() {
         //Arrange
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage();
 
         //Act
         productsPage.navigateProducts();
@@ -26,7 +26,7 @@ public class ProductTests extends BaseTest {
     @Description("Test Case 9: Search products by keyword")
     public void searchProductByKeywordReturnsResults() {
         //Arrange
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage();
         productsPage.navigateProducts();
 
         //Act
@@ -43,7 +43,7 @@ public class ProductTests extends BaseTest {
     @Description("Test Case 18: Filter products by category (Women > Dress)")
     public void filterProductsByCategoryWomenDress() {
         //Arrange
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage();
         productsPage.navigateProducts();
 
         //Verify categories sidebar is visible
@@ -63,7 +63,7 @@ public class ProductTests extends BaseTest {
     @Description("Test case 8: View product details page")
     public void viewProductDetailsPageShowsAllInfo() {
         //Arrange
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage();
         productsPage.navigateProducts();
 
         //Act
@@ -1,5 +1,7 @@
 package io.github.aslavchev.ui;
 
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -10,15 +12,16 @@ import org.testng.annotations.Test;
 public class RetryMechanismTest {
 
     private static int attemptCount = 0;
+    private static int assertionAttempts = 0;
 
     @Test(groups = "reliability")
     public void testRetrySucceedsOnSecondAttempt() {
         attemptCount++;
         System.out.println("Attempt #" + attemptCount);
 
-        // Fail on first attempt, pass on retry
+        // Fail on first attempt with a transient failure, pass on retry
         if (attemptCount < 2) {
-            Assert.fail("Intentional failure to test retry");
+            throw new TimeoutException("Intentional timeout to test retry");
         }
 
         Assert.assertTrue(true, "Test passed on retry");
@@ -27,6 +30,18 @@ public class RetryMechanismTest {
     @Test(groups = "reliability")
     public void testRetryEventuallyFails() {
         // This should fail even after retries (max 2 retries = 3 total attempts)
-        Assert.fail("This test fails to verify retry limit works");
+        throw new WebDriverException("This test fails to verify retry limit works");
     }
-}
\ No newline at end of file
+
+    @Test(groups = "reliability")
+    public void testAssertionFailureIsNotRetried() {
+        assertionAttempts++;
+        // A real (assertion) failure must fail on the first attempt
+        Assert.fail("Intentional assertion failure - must not be retried");
+    }
+
+    @Test(groups = "reliability", dependsOnMethods = "testAssertionFailureIsNotRetried", alwaysRun = true)
+    public void testAssertionFailureRanOnce() {
+        Assert.assertEquals(assertionAttempts, 1, "Assertion failures should not be retried");
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.aslavchev.utils;
+
+import io.github.aslavchev.metrics.RunMetrics;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lease-based pool of test accounts for parallel execution.
+ * <p>
+ * Each test thread leases one account on first use and returns it in @AfterMethod,
+ * so no two running tests ever share a login (and therefore a server-side cart).
+ * When all accounts are leased, the next thread waits until one is released.
+ * <p>
+ * Account discovery (first match wins):
+ * <ol>
+ *   <li>-Dtest.users.file=path - CSV with header "email,password"</li>
+ *   <li>TEST_USER_EMAIL_n / TEST_USER_PASSWORD_n for n = 1, 2, 3... until a gap</li>
+ * </ol>
+ * Lease timeout: -Dtest.users.leaseTimeoutSeconds (default: 120).
+ * <p>
+ * Parallel checkout runs scale up to the number of provisioned accounts;
+ * every account also needs a row in testdata/user-data.csv for address assertions.
+ */
+public final class CredentialPool {
+
+    private static final long LEASE_TIMEOUT_SECONDS =
+            Long.getLong("test.users.leaseTimeoutSeconds", 120);
+
+    private static final ThreadLocal<Credentials> currentLease = new ThreadLocal<>();
+
+    private CredentialPool() {
+    }
+
+    /**
+     * Lazy holder - accounts are only discovered when a test actually needs one,
+     * so suites without login never fail on missing credentials.
+     */
+    private static final class Holder {
+        private static final List<Credentials> ACCOUNTS = discoverAccounts();
+        private static final BlockingQueue<Credentials> AVAILABLE = new LinkedBlockingQueue<>(ACCOUNTS);
+    }
+
+    /**
+     * Account leased by the current thread, acquiring one if needed.
+     * Blocks while all accounts are in use by other threads.
+     *
+     * @return Leased credentials (same instance until {@link #release()})
+     * @throws IllegalStateException if no account frees up within the lease timeout
+     */
+    public static Credentials current() {
+        Credentials lease = currentLease.get();
+        if (lease == null) {
+            lease = acquire();
+            currentLease.set(lease);
+        }
+        return lease;
+    }
+
+    /**
+     * Return the current thread's account to the pool. No-op if nothing is leased.
+     */
+    public static void release() {
+        Credentials lease = currentLease.get();
+        if (lease != null) {
+            currentLease.remove();
+            Holder.AVAILABLE.offer(lease);
+        }
+    }
+
+    /**
+     * Number of provisioned accounts (upper bound for useful parallelism)
+     */
+    public static int size() {
+        return Holder.ACCOUNTS.size();
+    }
+
+    private static Credentials acquire() {
+        long start = System.currentTimeMillis();
+        Credentials lease = Holder.AVAILABLE.poll();
+        if (lease == null) {
+            RunMetrics.increment("credentials.contended");
+            try {
+                lease = Holder.AVAILABLE.poll(LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a test account", e);
+            }
+        }
+        long waited = System.currentTimeMillis() - start;
+        RunMetrics.recordTime("credentials.wait", waited);
+
+        if (lease == null) {
+            RunMetrics.increment("credentials.timeouts");
+            throw new IllegalStateException(
+                    "No test account available after " + LEASE_TIMEOUT_SECONDS + "s - all "
+                            + size() + " accounts are leased. Provision more TEST_USER_EMAIL_n accounts or lower -Dthreads");
+        }
+        RunMetrics.increment("credentials.leases");
+        return lease;
+    }
+
+    private static List<Credentials> discoverAccounts() {
+        String file = System.getProperty("test.users.file");
+        List<Credentials> accounts = file != null ? readAccountsFile(Path.of(file)) : readNumberedAccounts();
+
+        if (accounts.isEmpty()) {
+            throw new IllegalStateException(
+                    "No test accounts found - set TEST_USER_EMAIL_1 / TEST_USER_PASSWORD_1 in .env file "
+                            + "or as environment variables, or pass -Dtest.users.file");
+        }
+        System.out.println("🔑 Credential pool: " + accounts.size() + " test account(s)");
+        return List.copyOf(accounts);
+    }
+
+    private static List<Credentials> readNumberedAccounts() {
+        List<Credentials> accounts = new ArrayList<>();
+        for (int n = 1; ; n++) {
+            String email = TestConfig.optional("TEST_USER_EMAIL_" + n);
+            if (email == null) {
+                return accounts;
+            }
+            accounts.add(new Credentials(email, TestConfig.required("TEST_USER_PASSWORD_" + n)));
+        }
+    }
+
+    private static List<Credentials> readAccountsFile(Path file) {
+        try (CsvReader reader = CsvReader.open(file)) {
+            return reader.readAll(row -> {
+                if (row.size() != 2) {
+                    throw new IllegalArgumentException("Invalid accounts row (expected email,password) in " + file);
+                }
+                return new Credentials(row.get(0).trim(), row.get(1).trim());
+            });
+        } catch (UncheckedIOException e) {
+            throw new RuntimeException("Failed to read test accounts file: " + file, e);
+        }
+    }
+}
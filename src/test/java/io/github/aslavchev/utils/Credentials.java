@@ -0,0 +1,14 @@
+package io.github.aslavchev.utils;
+
+/**
+ * Credentials - One provisioned test account (email + password)
+ * Leased from CredentialPool for the duration of a single test.
+ */
+public record Credentials(String email, String password) {
+
+    @Override
+    public String toString() {
+        // Never print passwords into logs or Allure
+        return "Credentials[" + email + "]";
+    }
+}
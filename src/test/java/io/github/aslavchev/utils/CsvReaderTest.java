@@ -0,0 +1,175 @@
+package io.github.aslavchev.utils;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Unit tests for the RFC 4180 CsvReader (with CsvHeader / CsvRow)
+ */
+public class CsvReaderTest {
+
+    @Test(groups = {"unit"})
+    public void readsHeaderAndRowsByColumnName() {
+        List<String> emails = read("email,password\na@x.com,one\nb@x.com,two\n", row -> row.get("email"));
+
+        assertThat(emails, contains("a@x.com", "b@x.com"));
+    }
+
+    @Test(groups = {"unit"})
+    public void stripsUtf8Bom() {
+        try (CsvReader reader = CsvReader.open(write("\uFEFFemail,password\na@x.com,one\n"))) {
+            assertThat(reader.header().names(), contains("email", "password"));
+            assertThat(reader.next().get("email"), is("a@x.com"));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void quotedFieldKeepsCommas() {
+        List<String> cities = read("name,city\nJack,\"Sydney, NSW\"\n", row -> row.get("city"));
+
+        assertThat(cities, contains("Sydney, NSW"));
+    }
+
+    @Test(groups = {"unit"})
+    public void doubledQuoteIsEscapedQuote() {
+        List<String> names = read("name\n\"The \"\"Blue\"\" Top\"\n\"\"\"\"\n", row -> row.get("name"));
+
+        assertThat(names, contains("The \"Blue\" Top", "\""));
+    }
+
+    @Test(groups = {"unit"})
+    public void crlfAndBareCrEndRecords() {
+        List<String> rows = read("a,b\r\n1,2\r\n3,4\r5,6\r", row -> row.get("a") + row.get("b"));
+
+        assertThat(rows, contains("12", "34", "56"));
+    }
+
+    @Test(groups = {"unit"})
+    public void quotedFieldSpansLines() {
+        try (CsvReader reader = CsvReader.open(write("address,phone\n\"1 George St\nSydney\",123\nnext,456\n"))) {
+            CsvRow first = reader.next();
+            assertThat(first.get("address"), is("1 George St\nSydney"));
+            assertThat(first.get("phone"), is("123"));
+            assertThat(first.line(), is(2));
+
+            assertThat("Line count includes the break inside quotes", reader.next().line(), is(4));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void lastRecordWithoutTrailingNewline() {
+        List<String> rows = read("a,b\n1,2\n3,", row -> row.get("a") + "|" + row.get("b"));
+
+        assertThat(rows, contains("1|2", "3|"));
+    }
+
+    @Test(groups = {"unit"})
+    public void blankLinesAreSkipped() {
+        List<String> rows = read("a\n\n1\r\n\r\n2\n\n", row -> row.get("a"));
+
+        assertThat(rows, contains("1", "2"));
+    }
+
+    @Test(groups = {"unit"})
+    public void fieldsSpanningTheBufferBoundary() {
+        // Slide a long unquoted field, a quoted field with an escaped quote and a CRLF
+        // across the 8 KB read buffer so each lands split between two fills
+        String header = "id,plain,quoted\r\n";
+        String plain = "p".repeat(40);
+        String quoted = "q\"\"q,".repeat(8);
+        for (int shift = 0; shift <= 100; shift++) {
+            // Row 2 starts at 8092 + shift, so every position inside it meets the boundary once
+            String padding = "x".repeat(8192 - 100 - header.length() - 10 + shift);
+            String csv = header + "1," + padding + "," + "\"pad\"\r\n"
+                    + "2," + plain + ",\"" + quoted + "\"\r\n";
+
+            List<String> rows = read(csv, row -> row.get("id") + ":" + row.get("plain") + ":" + row.get("quoted"));
+
+            assertThat("Shift " + shift, rows, contains("1:" + padding + ":pad",
+                    "2:" + plain + ":" + quoted.replace("\"\"", "\"")));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void rowToMapIsDetachedCopy() {
+        try (CsvReader reader = CsvReader.open(write("a,b\n1,2\n3,4\n"))) {
+            Map<String, String> first = reader.next().toMap();
+            reader.next();
+
+            assertThat(first, is(Map.of("a", "1", "b", "2")));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void duplicateHeaderIsRejected() {
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class,
+                () -> CsvReader.open(write("email, email\n")));
+
+        assertThat(e.getMessage(), containsString("Duplicate CSV column 'email'"));
+    }
+
+    @Test(groups = {"unit"})
+    public void unknownColumnNamesTheColumns() {
+        try (CsvReader reader = CsvReader.open(write("email,password\na,b\n"))) {
+            CsvRow row = reader.next();
+
+            IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> row.get("phone"));
+            assertThat(e.getMessage(), allOf(containsString("'phone'"), containsString("[email, password]")));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void shortRowReportsLine() {
+        try (CsvReader reader = CsvReader.open(write("a,b\n1,2\n3\n"))) {
+            reader.next();
+            CsvRow shortRow = reader.next();
+
+            IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> shortRow.get("b"));
+            assertThat(e.getMessage(), containsString(":3"));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void unterminatedQuoteIsMalformed() {
+        try (CsvReader reader = CsvReader.open(write("a\n\"open\n"))) {
+            IllegalArgumentException e = expectThrows(IllegalArgumentException.class, reader::next);
+            assertThat(e.getMessage(), containsString("Unterminated quoted field"));
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void textAfterClosingQuoteIsMalformed() {
+        try (CsvReader reader = CsvReader.open(write("a\n\"x\"y\n"))) {
+            assertThrows(IllegalArgumentException.class, reader::next);
+        }
+    }
+
+    private static <T> List<T> read(String csv, Function<CsvRow, T> mapper) {
+        try (CsvReader reader = CsvReader.open(write(csv))) {
+            return reader.readAll(mapper);
+        }
+    }
+
+    private static Path write(String csv) {
+        try {
+            Path file = Files.createTempFile("csv-reader-test", ".csv");
+            file.toFile().deleteOnExit();
+            return Files.writeString(file, csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -11,32 +11,47 @@ import org.testng.ITestResult;
  * not a substitute for fixing unstable tests. All retried tests should
  * be investigated and fixed at the root cause.
  *
+ * Only transient failures (timeouts, stale elements, driver/network errors) are retried,
+ * within a per-suite budget and with backoff - see RetryPolicy.
+ *
  * Usage: @Test(retryAnalyzer = RetryAnalyzer.class)
  * Or automatic via RetryListener
  */
 public class RetryAnalyzer implements IRetryAnalyzer {
 
-    private static final int MAX_RETRY_COUNT = 2;
     private int retryCount = 0;
 
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < MAX_RETRY_COUNT) {
-            retryCount++;
-            String testName = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
-
-            // CRITICAL: Notify listener to track flakiness
-            RetryListener.trackFlakyTest(testName);
-
-            // Log retry attempt
-            System.out.println("⚠️ RETRY ATTEMPT " + retryCount + "/" + MAX_RETRY_COUNT +
-                    " for test: " + testName);
-            if (result.getThrowable() != null) {
-                System.out.println("   Failure reason: " + result.getThrowable().getMessage());
+        String testName = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+        RetryPolicy.Failure failure = RetryPolicy.classify(result.getThrowable());
+
+        if (!RetryPolicy.shouldRetry(failure, retryCount)) {
+            if (retryCount == 0 && !failure.isTransient()) {
+                System.out.println("⛔ Not retrying " + testName + " (" + failure.label() + " failure)");
             }
+            return false; // Real failure, max retries or budget reached - fail the test
+        }
+
+        // CRITICAL: Notify listener to track flakiness (cause + attempt duration)
+        RetryListener.trackRetry(result);
 
-            return true; // Retry the test
+        // Log retry attempt
+        System.out.println("⚠️ RETRY ATTEMPT " + (retryCount + 1) + "/" + RetryPolicy.maxRetries() +
+                " for test: " + testName + " (" + failure.label() + " failure)");
+        if (result.getThrowable() != null) {
+            System.out.println("   Failure reason: " + result.getThrowable().getMessage());
         }
-        return false; // Max retries reached, fail the test
+
+        RetryPolicy.backoff(retryCount);
+        retryCount++;
+        return true; // Retry the test
+    }
+
+    /**
+     * Retries granted so far to this test instance (0 on the first attempt)
+     */
+    public int retries() {
+        return retryCount;
     }
 }
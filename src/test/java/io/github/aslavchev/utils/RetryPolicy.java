@@ -0,0 +1,182 @@
+package io.github.aslavchev.utils;
+
+import io.github.aslavchev.metrics.RunMetrics;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RetryPolicy - Decides whether a failed test attempt is worth another run
+ * <p>
+ * Why: RetryAnalyzer used to retry every failure twice, so a genuine assertion failure cost
+ * two more full browser runs before it was reported. The policy:
+ * 1. Classifies the failure (the throwable and its causes) - see Failure
+ * 2. Retries only transient classes: wait timeouts, stale elements, driver/network errors.
+ *    Assertion failures, missing elements and plain bugs (NPE, IllegalState...) fail at once
+ * 3. Caps retries per test (-Dretry.max) and per suite (-Dretry.budget), so a broken
+ *    environment cannot double the run time
+ * 4. Backs off before each retry (-Dretry.backoff.ms, doubling per attempt, max 10 s),
+ *    giving a flapping site or Grid node time to recover
+ * Everything is counted in RunMetrics (retry.*) and summarised by RetryListener.
+ * <p>
+ * -Dretry.policy=transient (default) | all (old behaviour: retry anything) | none
+ */
+public final class RetryPolicy {
+
+    /**
+     * Failure classes, in the order they are checked
+     */
+    public enum Failure {
+        TIMEOUT(true),
+        STALE_ELEMENT(true),
+        ELEMENT_MISSING(false),
+        DRIVER_OR_NETWORK(true),
+        ASSERTION(false),
+        OTHER(false);
+
+        private final boolean retryable;
+
+        Failure(boolean retryable) {
+            this.retryable = retryable;
+        }
+
+        /**
+         * Whether this class of failure is usually environmental and worth a retry
+         */
+        public boolean isTransient() {
+            return retryable;
+        }
+
+        /**
+         * Metric-friendly name, e.g. "driverOrNetwork"
+         */
+        public String label() {
+            String[] words = name().toLowerCase(Locale.ROOT).split("_");
+            StringBuilder label = new StringBuilder(words[0]);
+            for (int i = 1; i < words.length; i++) {
+                label.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+            }
+            return label.toString();
+        }
+    }
+
+    private static final String MODE = System.getProperty("retry.policy", "transient").toLowerCase(Locale.ROOT);
+    private static final int MAX_RETRIES = Integer.getInteger("retry.max", 2);
+    private static final int BUDGET = Integer.getInteger("retry.budget", 10);
+    private static final long BACKOFF_MILLIS = Long.getLong("retry.backoff.ms", 1_000);
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+
+    private static final AtomicInteger budgetUsed = new AtomicInteger();
+
+    private RetryPolicy() {
+    }
+
+    /**
+     * Classify a failure by the first recognised type in its cause chain
+     * (a TimeoutException wrapped in a RuntimeException is still a timeout).
+     * A cause chain that loops back on itself is walked once
+     */
+    public static Failure classify(Throwable throwable) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable t = throwable; t != null && seen.add(t); t = t.getCause()) {
+            if (t instanceof TimeoutException) {
+                return Failure.TIMEOUT;
+            }
+            if (t instanceof StaleElementReferenceException) {
+                return Failure.STALE_ELEMENT;
+            }
+            if (t instanceof NotFoundException) {
+                return Failure.ELEMENT_MISSING;
+            }
+            if (t instanceof WebDriverException || t instanceof IOException || t instanceof UncheckedIOException) {
+                return Failure.DRIVER_OR_NETWORK;
+            }
+            if (t instanceof AssertionError) {
+                return Failure.ASSERTION;
+            }
+        }
+        return Failure.OTHER;
+    }
+
+    /**
+     * Decide whether to run the test again, and reserve suite budget if so
+     *
+     * @param failure       Classified failure of the attempt that just ended
+     * @param retriesSoFar  Retries this test has already had
+     * @return true if the test should be retried
+     */
+    public static boolean shouldRetry(Failure failure, int retriesSoFar) {
+        if (retriesSoFar >= MAX_RETRIES || "none".equals(MODE)) {
+            return false;
+        }
+        if (!failure.isTransient() && !"all".equals(MODE)) {
+            RunMetrics.increment("retry.notRetried." + failure.label());
+            return false;
+        }
+        if (!reserveBudget()) {
+            RunMetrics.increment("retry.budgetExhausted");
+            return false;
+        }
+        RunMetrics.increment("retry.retried." + failure.label());
+        return true;
+    }
+
+    /**
+     * Wait before the next attempt: backoff x 2^retriesSoFar, capped at 10 s
+     */
+    public static void backoff(int retriesSoFar) {
+        long millis = Math.min(MAX_BACKOFF_MILLIS, BACKOFF_MILLIS << Math.min(retriesSoFar, 20));
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+            RunMetrics.recordTime("retry.backoff", millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static int maxRetries() {
+        return MAX_RETRIES;
+    }
+
+    public static String mode() {
+        return MODE;
+    }
+
+    public static int budget() {
+        return BUDGET;
+    }
+
+    public static int budgetUsed() {
+        return budgetUsed.get();
+    }
+
+    /**
+     * Start a new suite with the full retry budget (called by RetryListener)
+     */
+    public static void resetBudget() {
+        budgetUsed.set(0);
+    }
+
+    private static boolean reserveBudget() {
+        int used;
+        do {
+            used = budgetUsed.get();
+            if (used >= BUDGET) {
+                return false;
+            }
+        } while (!budgetUsed.compareAndSet(used, used + 1));
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.aslavchev.utils;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.Test;
+
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+
+import static io.github.aslavchev.utils.RetryPolicy.Failure.*;
+import static io.github.aslavchev.utils.RetryPolicy.classify;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for RetryPolicy.classify and the Failure classes
+ */
+public class RetryPolicyTest {
+
+    @Test(groups = {"unit"})
+    public void seleniumSubtypesAreCheckedBeforeWebDriverException() {
+        assertThat(classify(new TimeoutException("wait")), is(TIMEOUT));
+        assertThat(classify(new StaleElementReferenceException("stale")), is(STALE_ELEMENT));
+        assertThat(classify(new NoSuchElementException("missing")), is(ELEMENT_MISSING));
+        assertThat(classify(new SessionNotCreatedException("grid")), is(DRIVER_OR_NETWORK));
+        assertThat(classify(new WebDriverException("driver")), is(DRIVER_OR_NETWORK));
+    }
+
+    @Test(groups = {"unit"})
+    public void ioFailuresAreDriverOrNetwork() {
+        assertThat(classify(new SocketTimeoutException("read timed out")), is(DRIVER_OR_NETWORK));
+        assertThat(classify(new UncheckedIOException(new SocketTimeoutException("read"))), is(DRIVER_OR_NETWORK));
+    }
+
+    @Test(groups = {"unit"})
+    public void assertionsAndBugsAreNotTransient() {
+        assertThat(classify(new AssertionError("expected 200")), is(ASSERTION));
+        assertThat(classify(new NullPointerException()), is(OTHER));
+        assertThat(classify(new IllegalStateException("bug")), is(OTHER));
+        assertThat(classify(null), is(OTHER));
+    }
+
+    @Test(groups = {"unit"})
+    public void wrappedFailureIsClassifiedByItsCause() {
+        assertThat(classify(new RuntimeException(new RuntimeException(new TimeoutException("wait")))), is(TIMEOUT));
+        assertThat(classify(new IllegalStateException("wrapper", new AssertionError("inner"))), is(ASSERTION));
+    }
+
+    @Test(groups = {"unit"})
+    public void firstRecognisedTypeInTheChainWins() {
+        assertThat(classify(new AssertionError("outer", new TimeoutException("inner"))), is(ASSERTION));
+        assertThat(classify(new TimeoutException("outer", new AssertionError("inner"))), is(TIMEOUT));
+    }
+
+    @Test(groups = {"unit"}, timeOut = 5_000)
+    public void causeCycleEndsTheWalk() {
+        RuntimeException first = new RuntimeException("first");
+        RuntimeException second = new RuntimeException("second", first);
+        first.initCause(second);
+
+        assertThat(classify(first), is(OTHER));
+    }
+
+    @Test(groups = {"unit"})
+    public void onlyEnvironmentalFailuresAreTransient() {
+        assertThat(TIMEOUT.isTransient(), is(true));
+        assertThat(STALE_ELEMENT.isTransient(), is(true));
+        assertThat(DRIVER_OR_NETWORK.isTransient(), is(true));
+        assertThat(ELEMENT_MISSING.isTransient(), is(false));
+        assertThat(ASSERTION.isTransient(), is(false));
+        assertThat(OTHER.isTransient(), is(false));
+    }
+
+    @Test(groups = {"unit"})
+    public void labelsAreCamelCase() {
+        assertThat(DRIVER_OR_NETWORK.label(), is("driverOrNetwork"));
+        assertThat(STALE_ELEMENT.label(), is("staleElement"));
+        assertThat(TIMEOUT.label(), is("timeout"));
+    }
+}
@@ -16,29 +16,35 @@ public class TestConfig {
             .load();
 
     /**
-     * Returns the test account email - thread-safe for parallel execution
+     * Returns the test account email - leased per thread from CredentialPool
      */
     public static String email() {
-        int userId = getThreadUserId();
-        return required("TEST_USER_EMAIL_" + userId);
+        return CredentialPool.current().email();
     }
 
 
     /**
-     * Returns the test account password - thread-safe for parallel execution
+     * Returns the test account password - leased per thread from CredentialPool
      */
     public static String password() {
-        int userId = getThreadUserId();
-        return required("TEST_USER_PASSWORD_" + userId);
+        return CredentialPool.current().password();
     }
 
     /**
-     * Returns user ID (1 or 2) based on thread ID
-     * Ensures each parallel thread gets a unique test user
+     * Returns an optional configuration value (same lookup order as {@link #required(String)})
+     *
+     * @return Trimmed value, or null if not set anywhere
      */
-    private static int getThreadUserId() {
-        long threadId = Thread.currentThread().getId();
-        return (int) ((threadId % 2) + 1);  // Returns 1 or 2
+    static String optional(String key) {
+        // 1. Check environment variables first (CI/CD)
+        String fromEnv = System.getenv(key);
+        if (fromEnv != null && !fromEnv.isBlank()) return fromEnv.trim();
+
+        // 2. Then check .env file (local development)
+        String fromFile = dotenv.get(key);
+        if (fromFile != null && !fromFile.isBlank()) return fromFile.trim();
+
+        return null;
     }
 
     /**
@@ -51,16 +57,11 @@ public class TestConfig {
      * </ol>
      * Throws clear exception if not found.
      */
-    private static String required(String key) {
-        // 1. Check environment variables first (CI/CD)
-        String fromEnv = System.getenv(key);
-        if (fromEnv != null && !fromEnv.isBlank()) return fromEnv.trim();
-
-        // 2. Then check .env file (local development)
-        String fromFile = dotenv.get(key);
-        if (fromFile != null && !fromFile.isBlank()) return fromFile.trim();
+    static String required(String key) {
+        String value = optional(key);
+        if (value != null) return value;
 
-        // 3. Not found anywhere → fail with helpful message
+        // Not found anywhere → fail with helpful message
         throw new IllegalStateException(
                 key + " is missing — set it in .env file or as environment variable"
         );